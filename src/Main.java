@@ -1,7 +1,12 @@
 
 
+import Model.AnalysisRunner;
+import Model.BatchAnalyzer;
 import Model.Graph;
 import Model.GraphException;
+import Model.GraphServer;
+import Model.MatrixWriter;
+import Model.ResultCache;
 import Model.SquareMatrix;
 import java.io.IOException;
 import java.nio.file.Files;
@@ -15,7 +20,30 @@ import java.util.Scanner;
 public class Main {
 
 	public static void main(String[] args) {
+		if (args.length > 0 && args[0].equals("--batch")) {
+			runBatch(args);
+			return;
+		}
+		if (args.length > 0 && args[0].equals("--server")) {
+			runServer(args);
+			return;
+		}
+		if (args.length > 0 && args[0].equals("--distances")) {
+			streamDistances(args);
+			return;
+		}
 		try {
+			// --cache dir: Ergebnisse im Cache-Verzeichnis wiederverwenden
+			ResultCache cache = null;
+			for (int a = 0; a < args.length; a += 2) {
+				if (a + 1 == args.length)
+					throw new IllegalArgumentException("Missing value for " + args[a]);
+				switch (args[a]) {
+					case "--cache" -> cache = new ResultCache(Paths.get(args[a + 1]));
+					default -> throw new IllegalArgumentException("Unknown option " + args[a]);
+				}
+			}
+
 			// *************************************************************************************
 			// Datei auswählen
 			// *************************************************************************************
@@ -41,7 +69,10 @@ public class Main {
 			} while (filenr < 0 || filenr >= files.size());
 			scanner.close();
 			var file = files.get(filenr).toString();
-			var graph = new Graph(SquareMatrix.fromCSV(file));
+			var adjacency = SquareMatrix.fromCSV(file);
+			var runner = new AnalysisRunner();
+			var report = cache == null ? runner.analyze(adjacency) : cache.analyze(adjacency, runner);
+			var graph = report.graph();
 
 
 			System.out.println("ANALYSIS OF THE GRAPH:");
@@ -55,51 +86,143 @@ public class Main {
 			System.out.printf("Nodes count: %d%n", graph.nodeCount);
 
 
-			var components = Graph.components(graph.getAdjacency());
+			var components = report.components();
 			System.out.printf("The graph has %d component/s:%n", components.size());
 			System.out.println(components);
 
 			System.out.println("Eccentricities:");
-			try {
-				var eccentricities = graph.eccentricity();
-				System.out.println(Arrays.toString(eccentricities));
+			if (report.isConnected()) {
+				System.out.println(Arrays.toString(report.eccentricities()));
 
-				var diameter = graph.diameter();
+				var diameter = report.diameter();
 				System.out.printf("diameter of the Graph: %s%n",
 						diameter == Graph.INF ? "inf" : diameter);
-				var radius = graph.radius();
+				var radius = report.radius();
 				System.out.printf("Radius of the Graph:      %s%n",
 						radius == Graph.INF ? "inf" : radius);
 
 				System.out.print("Center of the Graph:             ");
-				System.out.println(Arrays.toString(graph.center().toArray()));
-			} catch (GraphException e){
-				System.out.println(e.getMessage());
+				System.out.println(Arrays.toString(report.center().toArray()));
+			} else {
+				System.out.println("Graph not connected");
 			}
 
 			System.out.print("Articulations of the Graph: ");
-			System.out.println(Arrays.toString(graph.articulations().toArray()));
+			System.out.println(Arrays.toString(report.articulations().toArray()));
 			System.out.print("Bridges of the Graph:            ");
-			System.out.println(Arrays.deepToString(graph.bridges().toArray()));
+			System.out.println(Arrays.deepToString(report.bridges().toArray()));
+			try {
+				var closeness = formatValues(graph.closeness());
+				var betweenness = formatValues(graph.betweenness());
+				System.out.print("Closeness centrality:          ");
+				System.out.println(closeness);
+				System.out.print("Betweenness centrality:        ");
+				System.out.println(betweenness);
+			} catch (IllegalArgumentException e) {
+				// z.B. negative Gewichte, die Floyd-Warshall noch akzeptiert
+				System.out.println("Centrality not available: " + e.getMessage());
+			}
 
 
 		} catch (IOException e) {
 			System.err.println(e.getMessage());
 		} catch (GraphException e) {
 			System.err.println(e.getMessage());
+		} catch (IllegalArgumentException e) {
+			System.err.println(e.getMessage());
+			System.err.println("Usage: Main [--cache dir]");
 		}
 	}
 
 
-	public static void printMatrix(int[][] matrix){
-		for (int[] ints : matrix) {
-			for (int j = 0; j < matrix.length; j++) {
-				if (ints[j] == Integer.MAX_VALUE) {
-					System.out.print(" N ");
-				} else
-					System.out.print(" "+ ints[j] + " ");
+	/**
+	 * Headless batch mode:
+	 * --batch [dir] [--format json|csv] [--out file] [--threads n] [--cache dir]
+	 * The results go to the output file (or standard output), the summary to standard error.
+	 */
+	private static void runBatch(String[] args) {
+		var dir = Paths.get("").toAbsolutePath().resolve("graphsCsv");
+		Path out = null;
+		var format = BatchAnalyzer.Format.JSON;
+		int threads = Runtime.getRuntime().availableProcessors();
+		ResultCache cache = null;
+		try {
+			for (int i = 1; i < args.length; i++) {
+				switch (args[i]) {
+					case "--format" -> format = BatchAnalyzer.Format.valueOf(args[++i].toUpperCase());
+					case "--out" -> out = Paths.get(args[++i]);
+					case "--threads" -> threads = Integer.parseInt(args[++i]);
+					case "--cache" -> cache = new ResultCache(Paths.get(args[++i]));
+					default -> {
+						if (args[i].startsWith("--"))
+							throw new IllegalArgumentException("Unknown option " + args[i]);
+						dir = Paths.get(args[i]);
+					}
+				}
+			}
+			var summary = new BatchAnalyzer(threads, cache).run(dir, out, format);
+			System.err.println(summary);
+		} catch (ArrayIndexOutOfBoundsException | IllegalArgumentException e) {
+			System.err.println("Usage: Main --batch [dir] [--format json|csv] [--out file] [--threads n] [--cache dir]");
+		} catch (GraphException e) {
+			System.err.println(e.getMessage());
+		}
+	}
+
+	/**
+	 * Server mode, answers queries until the process is stopped:
+	 * --server [port] [--dir graphsCsv] [--memory mb] [--cache dir]
+	 */
+	private static void runServer(String[] args) {
+		var dir = Paths.get("").toAbsolutePath().resolve("graphsCsv");
+		int port = 8080;
+		long maxBytes = GraphServer.DEFAULT_MAX_BYTES;
+		ResultCache cache = null;
+		try {
+			for (int i = 1; i < args.length; i++) {
+				switch (args[i]) {
+					case "--dir" -> dir = Paths.get(args[++i]);
+					case "--memory" -> maxBytes = Long.parseLong(args[++i]) << 20;
+					case "--cache" -> cache = new ResultCache(Paths.get(args[++i]));
+					default -> port = Integer.parseInt(args[i]);
+				}
 			}
-			System.out.println();
+			var server = new GraphServer(dir, maxBytes, cache);
+			server.start(port);
+			System.out.printf("Listening on http://127.0.0.1:%d/ for graphs in %s%n", server.getPort(), dir);
+		} catch (ArrayIndexOutOfBoundsException | IllegalArgumentException e) {
+			System.err.println("Usage: Main --server [port] [--dir graphsCsv] [--memory mb] [--cache dir]");
+		} catch (GraphException e) {
+			System.err.println(e.getMessage());
+		}
+	}
+
+	/**
+	 * Streams the distance matrix of a CSV graph row by row, without building the whole matrix:
+	 * --distances file.csv [--out file]
+	 */
+	private static void streamDistances(String[] args) {
+		if (args.length != 2 && !(args.length == 4 && args[2].equals("--out"))) {
+			System.err.println("Usage: Main --distances file.csv [--out file]");
+			return;
+		}
+		try (var writer = args.length == 4
+				? MatrixWriter.toFile(Paths.get(args[3]))
+				: new MatrixWriter(System.out)) {
+			Graph.distanceRows(SquareMatrix.fromCSV(args[1]).getArray(), writer);
+		} catch (GraphException e) {
+			System.err.println(e.getMessage());
 		}
 	}
+
+	private static String formatValues(double[] values) {
+		var sb = new StringBuilder("[");
+		for (int i = 0; i < values.length; i++)
+			sb.append(i == 0 ? "" : ", ").append(String.format("%.3f", values[i]));
+		return sb.append("]").toString();
+	}
+
+	public static void printMatrix(int[][] matrix) throws GraphException {
+		new MatrixWriter(System.out).writeMatrix(matrix);
+	}
 }
@@ -0,0 +1,21 @@
+package Model;
+
+import java.util.List;
+
+/**
+ * All analysis results of one graph, as collected by the {@link AnalysisRunner}.
+ * If the graph is not connected, the eccentricities are null, diameter and radius are
+ * {@link Graph#INF} and the center is empty.
+ */
+public record AnalysisReport(Graph graph, List<List<Integer>> components, int[] eccentricities,
+							 int diameter, int radius, List<Integer> center,
+							 List<Integer> articulations, List<List<Integer>> bridges) {
+
+	public int nodeCount() {
+		return graph.nodeCount;
+	}
+
+	public boolean isConnected() {
+		return eccentricities != null;
+	}
+}
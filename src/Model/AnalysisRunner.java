@@ -0,0 +1,94 @@
+package Model;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Runs the independent analyses of a graph as parallel tasks and collects them in one {@link AnalysisReport}.
+ * The analyses only read the adjacency and the distance matrix, so they can run at the same time:
+ * <pre>
+ * adjacency -+- distance/path matrix (Graph) -- eccentricities -+- diameter
+ *            +- components                                      +- radius
+ *            +- articulations                                   +- center
+ *            +- bridges
+ * </pre>
+ */
+public class AnalysisRunner {
+	private final Executor executor;
+
+	/**
+	 * Creates a runner on the common ForkJoinPool.
+	 */
+	public AnalysisRunner() {
+		this(ForkJoinPool.commonPool());
+	}
+
+	/**
+	 * Creates a runner on the given executor. With {@code Runnable::run} all analyses
+	 * run one after another on the calling thread.
+	 */
+	public AnalysisRunner(Executor executor) {
+		this.executor = executor;
+	}
+
+	/**
+	 * Builds the graph and analyzes it. The distance and path matrix are calculated
+	 * while components, articulations and bridges are already running.
+	 * @param adjacency The adjacency matrix of the graph.
+	 * @return The aggregated results.
+	 * @throws GraphException If an analysis fails.
+	 */
+	public AnalysisReport analyze(SquareMatrix adjacency) throws GraphException {
+		return await(analyze(CompletableFuture.supplyAsync(() -> new Graph(adjacency), executor),
+				adjacency.getArray()));
+	}
+
+	/**
+	 * Analyzes an already built graph.
+	 * @param graph The graph, including its distance matrix.
+	 * @return The aggregated results.
+	 * @throws GraphException If an analysis fails.
+	 */
+	public AnalysisReport analyze(Graph graph) throws GraphException {
+		return await(analyze(CompletableFuture.completedFuture(graph), graph.getAdjacency()));
+	}
+
+	private CompletableFuture<AnalysisReport> analyze(CompletableFuture<Graph> graph, int[][] adjacency) {
+		var components = CompletableFuture.supplyAsync(() -> Graph.findComponents(adjacency), executor);
+		var articulations = CompletableFuture.supplyAsync(() -> Graph.articulations(adjacency), executor);
+		var bridges = CompletableFuture.supplyAsync(() -> Graph.bridges(adjacency), executor);
+
+		// Exzentrizitaeten brauchen die Distanzmatrix, bei nicht verbundenen Graphen null
+		var eccentricities = graph.thenApplyAsync(g -> {
+			try {
+				return g.eccentricity();
+			} catch (GraphException e) {
+				return null;
+			}
+		}, executor);
+		var center = eccentricities.thenApplyAsync(
+				ecc -> ecc == null ? List.<Integer>of() : Graph.center(ecc), executor);
+
+		return CompletableFuture.allOf(components, articulations, bridges, center)
+				.thenCombine(graph, (ignored, g) -> {
+					int[] ecc = eccentricities.join();
+					return new AnalysisReport(g, components.join(), ecc,
+							ecc == null ? Graph.INF : Graph.diameter(ecc),
+							ecc == null ? Graph.INF : Graph.radius(ecc),
+							center.join(), articulations.join(), bridges.join());
+				});
+	}
+
+	private static AnalysisReport await(CompletableFuture<AnalysisReport> report) throws GraphException {
+		try {
+			return report.join();
+		} catch (CompletionException e) {
+			if (e.getCause() instanceof RuntimeException cause)
+				throw cause;
+			throw new GraphException("Analysis failed: " + e.getCause());
+		}
+	}
+}
@@ -0,0 +1,268 @@
+package Model;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Analyzes every CSV graph of a directory without any user interaction.
+ * The graphs are read and analyzed concurrently on a bounded worker pool,
+ * the results are written in file order as JSON or CSV through a buffered writer.
+ */
+public class BatchAnalyzer {
+
+	public enum Format { JSON, CSV }
+
+	/** Analyzed results that may wait for the writer, per worker thread. */
+	private static final int AHEAD_PER_THREAD = 2;
+
+	/**
+	 * The analysis result of one graph file. If the file could not be analyzed,
+	 * the report is null and the error message is set.
+	 */
+	public record Result(Path file, AnalysisReport report, String error) {
+	}
+
+	/**
+	 * Throughput figures of one batch run. The phase totals are summed over all workers.
+	 */
+	public record Summary(int graphs, int failed, int cacheHits, long wallNanos,
+						  long parseNanos, long buildNanos, long analysisNanos, long writeNanos) {
+
+		public double graphsPerSecond() {
+			return wallNanos == 0 ? 0 : graphs / (wallNanos / 1e9);
+		}
+
+		@Override
+		public String toString() {
+			return String.format("Analyzed %d graph/s (%d failed, %d from cache) in %.3f s: %.2f graphs/s%n"
+							+ "Phase totals: parse %.3f ms, distance/path %.3f ms, analysis %.3f ms, write %.3f ms",
+					graphs, failed, cacheHits, wallNanos / 1e9, graphsPerSecond(),
+					parseNanos / 1e6, buildNanos / 1e6, analysisNanos / 1e6, writeNanos / 1e6);
+		}
+	}
+
+	private final int threads;
+	private final ResultCache cache; // null = ohne Cache
+
+	/**
+	 * The counters of one run, added up by all workers.
+	 */
+	private static final class Totals {
+		final LongAdder cacheHits = new LongAdder();
+		final LongAdder parseNanos = new LongAdder();
+		final LongAdder buildNanos = new LongAdder();
+		final LongAdder analysisNanos = new LongAdder();
+	}
+
+	public BatchAnalyzer(int threads) {
+		this(threads, null);
+	}
+
+	/**
+	 * @param threads The number of worker threads.
+	 * @param cache   The result cache to look up and store the reports, or null.
+	 */
+	public BatchAnalyzer(int threads, ResultCache cache) {
+		if (threads < 1)
+			throw new IllegalArgumentException("threads must be >= 1");
+		this.threads = threads;
+		this.cache = cache;
+	}
+
+	/**
+	 * Analyzes all CSV files in the given directory and writes the results.
+	 * Steps:
+	 * 1. Collect all CSV files of the directory in sorted order.
+	 * 2. Submit analysis tasks for the first files to a fixed pool of worker threads, at most
+	 *    AHEAD_PER_THREAD tasks per thread. Each result holds the full matrices of its graph,
+	 *    so the workers may not run arbitrarily far ahead of the writer.
+	 * 3. Write the results in file order as they finish. After each written result its task
+	 *    is dropped and the task of the next file is submitted, so only a bounded number
+	 *    of results is held at any time.
+	 *
+	 * @param dir    The directory with the CSV files.
+	 * @param out    The output file, or null to write to standard output.
+	 * @param format The output format.
+	 * @return The throughput summary of the run.
+	 * @throws GraphException If the directory or the output cannot be accessed.
+	 */
+	public Summary run(Path dir, Path out, Format format) throws GraphException {
+		List<Path> files;
+		try (var stream = Files.find(dir, 1, (path, attributes) -> path.toString().endsWith(".csv"))) {
+			files = stream.sorted().toList();
+		} catch (IOException e) {
+			throw new GraphException("Error reading directory " + dir + ": " + e.getMessage());
+		}
+
+		var totals = new Totals(); // je Lauf neu, sonst summiert ein zweiter run() mit
+		long start = System.nanoTime();
+		long writeNanos = 0;
+		int failed = 0;
+		ExecutorService pool = Executors.newFixedThreadPool(threads);
+		try {
+			Deque<Future<Result>> pending = new ArrayDeque<>();
+			int submitted = 0;
+			for (; submitted < files.size() && submitted < threads * AHEAD_PER_THREAD; submitted++) {
+				var file = files.get(submitted);
+				pending.add(pool.submit(() -> analyze(file, totals)));
+			}
+
+			try (Writer writer = openWriter(out)) {
+				long writeStart = System.nanoTime();
+				writeHeader(writer, format);
+				writeNanos += System.nanoTime() - writeStart;
+				for (int i = 0; i < files.size(); i++) {
+					Result result = await(pending.poll(), files.get(i));
+					if (submitted < files.size()) {
+						var file = files.get(submitted++);
+						pending.add(pool.submit(() -> analyze(file, totals)));
+					}
+					if (result.error() != null)
+						failed++;
+					writeStart = System.nanoTime();
+					writeResult(writer, format, result, i == 0);
+					writeNanos += System.nanoTime() - writeStart;
+				}
+				writeStart = System.nanoTime();
+				writeFooter(writer, format);
+				writer.flush();
+				writeNanos += System.nanoTime() - writeStart;
+			} catch (IOException e) {
+				throw new GraphException("Error writing results: " + e.getMessage());
+			}
+		} finally {
+			pool.shutdownNow();
+		}
+		return new Summary(files.size(), failed, (int) totals.cacheHits.sum(), System.nanoTime() - start,
+				totals.parseNanos.sum(), totals.buildNanos.sum(), totals.analysisNanos.sum(), writeNanos);
+	}
+
+	/**
+	 * Reads and analyzes one graph file. Runs on a worker thread.
+	 */
+	private Result analyze(Path file, Totals totals) {
+		try {
+			long t0 = System.nanoTime();
+			var adjacency = SquareMatrix.fromCSV(file.toString());
+			long t1 = System.nanoTime();
+			var report = cache == null ? null : cache.get(adjacency);
+			long t2 = System.nanoTime();
+			if (report == null) {
+				var graph = new Graph(adjacency);
+				t2 = System.nanoTime();
+				// die Graphen laufen schon parallel, daher die Analysen direkt auf diesem Worker
+				report = new AnalysisRunner(Runnable::run).analyze(graph);
+				if (cache != null)
+					cache.store(report);
+			} else {
+				totals.cacheHits.increment();
+			}
+			long t3 = System.nanoTime();
+
+			totals.parseNanos.add(t1 - t0);
+			totals.buildNanos.add(t2 - t1);
+			totals.analysisNanos.add(t3 - t2);
+			return new Result(file, report, null);
+		} catch (GraphException | RuntimeException e) {
+			return failure(file, e);
+		}
+	}
+
+	private static Result await(Future<Result> future, Path file) {
+		try {
+			return future.get();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			return failure(file, e);
+		} catch (ExecutionException e) {
+			return failure(file, e.getCause());
+		}
+	}
+
+	private static Result failure(Path file, Throwable e) {
+		String message = e.getMessage() == null ? e.getClass().getSimpleName() : e.getMessage();
+		return new Result(file, null, message);
+	}
+
+	private static Writer openWriter(Path out) throws IOException {
+		if (out == null) {
+			// System.out darf nicht geschlossen werden
+			return new BufferedWriter(new OutputStreamWriter(System.out, StandardCharsets.UTF_8), 1 << 16) {
+				@Override
+				public void close() throws IOException {
+					flush();
+				}
+			};
+		}
+		return Files.newBufferedWriter(out, StandardCharsets.UTF_8);
+	}
+
+	private static void writeHeader(Writer writer, Format format) throws IOException {
+		if (format == Format.JSON)
+			writer.write("[\n");
+		else
+			writer.write("file;nodes;components;eccentricities;diameter;radius;center;articulations;bridges;error\n");
+	}
+
+	private static void writeFooter(Writer writer, Format format) throws IOException {
+		if (format == Format.JSON)
+			writer.write("\n]\n");
+	}
+
+	private static void writeResult(Writer writer, Format format, Result result, boolean first) throws IOException {
+		if (format == Format.JSON) {
+			if (!first)
+				writer.write(",\n");
+			writer.write("{\"file\":");
+			writer.write(Json.quote(result.file().getFileName().toString()));
+			if (result.error() != null) {
+				writer.write(",\"error\":");
+				writer.write(Json.quote(result.error()));
+			} else {
+				// List.toString() und Arrays.toString() liefern bereits gueltige JSON-Arrays
+				var report = result.report();
+				writer.write(",\"nodes\":" + report.nodeCount());
+				writer.write(",\"components\":" + report.components());
+				writer.write(",\"eccentricities\":" + (report.isConnected()
+						? Arrays.toString(report.eccentricities()) : "null"));
+				writer.write(",\"diameter\":" + distance(report.diameter(), "null"));
+				writer.write(",\"radius\":" + distance(report.radius(), "null"));
+				writer.write(",\"center\":" + report.center());
+				writer.write(",\"articulations\":" + report.articulations());
+				writer.write(",\"bridges\":" + report.bridges());
+			}
+			writer.write('}');
+		} else {
+			writer.write(result.file().getFileName().toString().replace(';', '_'));
+			writer.write(';');
+			if (result.error() == null) {
+				var report = result.report();
+				writer.write(report.nodeCount() + ";" + report.components() + ";"
+						+ (report.isConnected() ? Arrays.toString(report.eccentricities()) : "") + ";"
+						+ distance(report.diameter(), "inf") + ";" + distance(report.radius(), "inf") + ";"
+						+ report.center() + ";" + report.articulations() + ";" + report.bridges() + ";");
+			} else {
+				writer.write(";;;;;;;;" + result.error().replace(';', ',').replace('\n', ' '));
+			}
+			writer.write('\n');
+		}
+	}
+
+	private static String distance(int value, String infinite) {
+		return value == Graph.INF ? infinite : Integer.toString(value);
+	}
+}
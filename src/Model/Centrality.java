@@ -0,0 +1,319 @@
+package Model;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.stream.IntStream;
+
+/**
+ * Closeness and betweenness centrality with Brandes' algorithm.
+ * Instead of the n^3 distance matrix, one single source shortest path run (BFS for unweighted,
+ * Dijkstra for weighted graphs) is done per source on adjacency lists, so the work is O(n*m)
+ * (O(n*m + n^2 log n) for weighted graphs). The sources are processed in parallel; every worker
+ * keeps its own primitive arrays, which are added up at the end.
+ * The results are indexed by node - 1. All edge weights must be positive, and the longest possible
+ * path (largest weight times n - 1) must fit into an int, since Dijkstra keeps distance and node
+ * together in one long heap entry.
+ */
+public class Centrality {
+
+	private Centrality() {
+	}
+
+	/**
+	 * Calculates the closeness centrality of every node: the number of reachable nodes divided by
+	 * the sum of the distances to them, scaled by the reachable part of the graph
+	 * (Wasserman and Faust), so nodes in small components do not get a high closeness:
+	 * C(v) = (r - 1) / (n - 1) * (r - 1) / sum(d(v,u)), with r the number of nodes reachable from v.
+	 * @param matrix The adjacency matrix of the graph (0 = no edge, otherwise the edge weight).
+	 * @return The closeness of each node, 0 for isolated nodes.
+	 * @throws IllegalArgumentException If a weight is negative or the paths can get too long.
+	 */
+	public static double[] closeness(int[][] matrix) {
+		var graph = new AdjacencyLists(matrix);
+		return allSources(graph).parallel()
+				.collect(() -> new Worker(graph, false, true), Worker::run, Worker::merge)
+				.closeness;
+	}
+
+	/**
+	 * Calculates the exact betweenness centrality of every node: the sum over all pairs of other
+	 * nodes of the fraction of shortest paths between them that pass through the node.
+	 * For a symmetric adjacency matrix every unordered pair is counted once.
+	 * @param matrix The adjacency matrix of the graph (0 = no edge, otherwise the edge weight).
+	 * @return The betweenness of each node.
+	 * @throws IllegalArgumentException If a weight is negative or the paths can get too long.
+	 */
+	public static double[] betweenness(int[][] matrix) {
+		var graph = new AdjacencyLists(matrix);
+		return betweenness(graph, allSources(graph).toArray(), 1.0);
+	}
+
+	/**
+	 * Approximates the betweenness centrality from a random sample of sources, for graphs
+	 * where a run from every node is too expensive. The dependencies of the sampled sources
+	 * are scaled by n / samples, so the result estimates the exact betweenness.
+	 * @param matrix  The adjacency matrix of the graph.
+	 * @param samples The number of sources, the exact value is calculated if samples >= n.
+	 * @param seed    The seed of the random sample, so the result can be reproduced.
+	 * @return The estimated betweenness of each node.
+	 */
+	public static double[] betweenness(int[][] matrix, int samples, long seed) {
+		if (samples < 1)
+			throw new IllegalArgumentException("samples must be >= 1");
+		var graph = new AdjacencyLists(matrix);
+		if (samples >= graph.nodeCount)
+			return betweenness(graph, allSources(graph).toArray(), 1.0);
+
+		// partieller Fisher-Yates: die ersten samples Eintraege sind eine zufaellige Auswahl
+		int[] nodes = allSources(graph).toArray();
+		var random = new Random(seed);
+		for (int i = 0; i < samples; i++) {
+			int j = i + random.nextInt(nodes.length - i);
+			int swap = nodes[i];
+			nodes[i] = nodes[j];
+			nodes[j] = swap;
+		}
+		return betweenness(graph, Arrays.copyOf(nodes, samples), (double) graph.nodeCount / samples);
+	}
+
+	private static double[] betweenness(AdjacencyLists graph, int[] sources, double scale) {
+		double[] result = IntStream.of(sources).parallel()
+				.collect(() -> new Worker(graph, true, false), Worker::run, Worker::merge)
+				.betweenness;
+		double factor = graph.symmetric ? scale / 2 : scale;
+		for (int i = 0; i < result.length; i++)
+			result[i] *= factor;
+		return result;
+	}
+
+	private static IntStream allSources(AdjacencyLists graph) {
+		return IntStream.range(0, graph.nodeCount);
+	}
+
+	/**
+	 * The graph as compressed adjacency lists: the outgoing edges of node v are
+	 * targets[offsets[v]] .. targets[offsets[v + 1] - 1], the incoming edges are stored the same way.
+	 */
+	private static final class AdjacencyLists {
+		final int nodeCount;
+		final int[] offsets, targets, weights;
+		final int[] inOffsets, sources, inWeights;
+		final boolean weighted, symmetric;
+
+		AdjacencyLists(int[][] matrix) {
+			nodeCount = matrix.length;
+			int edges = 0;
+			int maxWeight = 0;
+			boolean weighted = false, symmetric = true;
+			for (int row = 0; row < nodeCount; row++) {
+				for (int col = 0; col < nodeCount; col++) {
+					if (matrix[row][col] != 0 && row != col) {
+						if (matrix[row][col] < 0)
+							throw new IllegalArgumentException("Centrality needs positive edge weights, but edge "
+									+ (row + 1) + "-" + (col + 1) + " has weight " + matrix[row][col]);
+						edges++;
+						weighted |= matrix[row][col] != 1;
+						maxWeight = Math.max(maxWeight, matrix[row][col]);
+					}
+					symmetric &= matrix[row][col] == matrix[col][row];
+				}
+			}
+			// der Heap-Eintrag (distance << 32 | node) braucht Distanzen unter 2^31
+			if ((long) maxWeight * Math.max(nodeCount - 1, 0) > Integer.MAX_VALUE)
+				throw new IllegalArgumentException("Centrality needs path lengths below 2^31, edge weights up to "
+						+ maxWeight + " are too large for " + nodeCount + " nodes");
+			this.weighted = weighted;
+			this.symmetric = symmetric;
+			offsets = new int[nodeCount + 1];
+			targets = new int[edges];
+			weights = new int[edges];
+			inOffsets = new int[nodeCount + 1];
+			sources = new int[edges];
+			inWeights = new int[edges];
+			int out = 0, in = 0;
+			for (int v = 0; v < nodeCount; v++) {
+				offsets[v] = out;
+				inOffsets[v] = in;
+				for (int u = 0; u < nodeCount; u++) {
+					if (u == v)
+						continue;
+					if (matrix[v][u] != 0) {
+						targets[out] = u;
+						weights[out++] = matrix[v][u];
+					}
+					if (matrix[u][v] != 0) {
+						sources[in] = u;
+						inWeights[in++] = matrix[u][v];
+					}
+				}
+			}
+			offsets[nodeCount] = out;
+			inOffsets[nodeCount] = in;
+		}
+	}
+
+	/**
+	 * The per-thread state of the parallel calculation. All arrays are reused for every source.
+	 * Steps per source s (Brandes):
+	 * 1. Shortest paths from s: distances, the number of shortest paths sigma and the order
+	 *    in which the nodes are finished (BFS queue order or Dijkstra extraction order).
+	 * 2. Go through the finished nodes backwards and add the dependency of every node w
+	 *    to its predecessors v (the nodes with d(s,v) + weight(v,w) == d(s,w)):
+	 *    delta(v) += sigma(v) / sigma(w) * (1 + delta(w)).
+	 * 3. Add delta(w) to the betweenness of every w != s.
+	 */
+	private static final class Worker {
+		final AdjacencyLists graph;
+		final boolean withBetweenness, withCloseness;
+		final double[] betweenness, closeness;
+		final long[] distance;
+		final double[] sigma, delta;
+		final int[] order;
+		final long[] heap;
+
+		Worker(AdjacencyLists graph, boolean withBetweenness, boolean withCloseness) {
+			this.graph = graph;
+			this.withBetweenness = withBetweenness;
+			this.withCloseness = withCloseness;
+			int n = graph.nodeCount;
+			betweenness = withBetweenness ? new double[n] : null;
+			closeness = withCloseness ? new double[n] : null;
+			distance = new long[n];
+			sigma = new double[n];
+			delta = new double[n];
+			order = new int[n];
+			heap = graph.weighted ? new long[graph.targets.length + 1] : null;
+		}
+
+		void run(int source) {
+			int finished = graph.weighted ? dijkstra(source) : bfs(source);
+
+			if (withCloseness) {
+				long sum = 0;
+				for (int i = 1; i < finished; i++)
+					sum += distance[order[i]];
+				if (sum > 0) {
+					double reachable = finished - 1;
+					closeness[source] = reachable / (graph.nodeCount - 1) * reachable / sum;
+				}
+			}
+
+			if (withBetweenness) {
+				for (int i = 0; i < finished; i++)
+					delta[order[i]] = 0;
+				for (int i = finished - 1; i > 0; i--) {
+					int w = order[i];
+					double share = (1 + delta[w]) / sigma[w];
+					for (int e = graph.inOffsets[w]; e < graph.inOffsets[w + 1]; e++) {
+						int v = graph.sources[e];
+						if (distance[v] != Long.MAX_VALUE && distance[v] + graph.inWeights[e] == distance[w])
+							delta[v] += sigma[v] * share;
+					}
+					betweenness[w] += delta[w];
+				}
+			}
+		}
+
+		/**
+		 * @return The number of reached nodes, which are stored in order.
+		 */
+		private int bfs(int source) {
+			Arrays.fill(distance, Long.MAX_VALUE);
+			distance[source] = 0;
+			sigma[source] = 1;
+			order[0] = source;
+			int head = 0, tail = 1;
+			while (head < tail) {
+				int v = order[head++];
+				for (int e = graph.offsets[v]; e < graph.offsets[v + 1]; e++) {
+					int w = graph.targets[e];
+					if (distance[w] == Long.MAX_VALUE) {
+						distance[w] = distance[v] + 1;
+						sigma[w] = 0;
+						order[tail++] = w;
+					}
+					if (distance[w] == distance[v] + 1)
+						sigma[w] += sigma[v];
+				}
+			}
+			return tail;
+		}
+
+		/**
+		 * Dijkstra with a binary heap of (distance << 32 | node) entries; outdated entries are skipped.
+		 * The edge weights must be positive.
+		 * @return The number of reached nodes, which are stored in order.
+		 */
+		private int dijkstra(int source) {
+			Arrays.fill(distance, Long.MAX_VALUE);
+			distance[source] = 0;
+			sigma[source] = 1;
+			int size = push(0, source);
+			int finished = 0;
+			while (size > 0) {
+				long top = heap[0];
+				size = pop(size);
+				int v = (int) (top & 0xFFFFFFFFL);
+				long d = top >>> 32;
+				// ein Knoten wird nur bei echter Verbesserung eingefuegt, jede Distanz also nur einmal
+				if (d != distance[v])
+					continue;
+				order[finished++] = v;
+				for (int e = graph.offsets[v]; e < graph.offsets[v + 1]; e++) {
+					int w = graph.targets[e];
+					long candidate = d + graph.weights[e];
+					if (candidate < distance[w]) {
+						distance[w] = candidate;
+						sigma[w] = sigma[v];
+						size = push(size, (candidate << 32) | w);
+					} else if (candidate == distance[w]) {
+						sigma[w] += sigma[v];
+					}
+				}
+			}
+			return finished;
+		}
+
+		private int push(int size, long entry) {
+			int i = size;
+			heap[i] = entry;
+			while (i > 0 && heap[(i - 1) / 2] > heap[i]) {
+				long swap = heap[i];
+				heap[i] = heap[(i - 1) / 2];
+				heap[(i - 1) / 2] = swap;
+				i = (i - 1) / 2;
+			}
+			return size + 1;
+		}
+
+		private int pop(int size) {
+			heap[0] = heap[--size];
+			int i = 0;
+			while (true) {
+				int child = 2 * i + 1;
+				if (child >= size)
+					break;
+				if (child + 1 < size && heap[child + 1] < heap[child])
+					child++;
+				if (heap[i] <= heap[child])
+					break;
+				long swap = heap[i];
+				heap[i] = heap[child];
+				heap[child] = swap;
+				i = child;
+			}
+			return size;
+		}
+
+		void merge(Worker other) {
+			if (withBetweenness) {
+				for (int i = 0; i < betweenness.length; i++)
+					betweenness[i] += other.betweenness[i];
+			}
+			if (withCloseness) {
+				for (int i = 0; i < closeness.length; i++)
+					closeness[i] += other.closeness[i];
+			}
+		}
+	}
+}
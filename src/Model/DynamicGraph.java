@@ -0,0 +1,251 @@
+package Model;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * An undirected graph whose edges can be added and removed one at a time.
+ * The distance matrix, the reachability and the components are maintained incrementally,
+ * so a change does not need the O(n^3) calculation of a new {@link Graph}.
+ * Bridges and articulations are marked dirty on every change and only recalculated when requested.
+ * All node numbers are 1-based, like in the results of {@link Graph}.
+ * The class is not thread-safe.
+ */
+public class DynamicGraph {
+	private final int[][] adjacency;
+	private final int[][] distances;
+	private final int[] componentOf; // kleinster Knoten (0-based) der Komponente
+	private List<List<Integer>> bridges; // null = dirty
+	private List<Integer> articulations; // null = dirty
+	public final int nodeCount;
+
+	public DynamicGraph(SquareMatrix adj) {
+		this(new Graph(adj));
+	}
+
+	/**
+	 * Creates a dynamic graph that starts with the already calculated distance matrix of the graph.
+	 * @throws IllegalArgumentException If the adjacency matrix is not symmetric.
+	 */
+	public DynamicGraph(Graph graph) {
+		nodeCount = graph.nodeCount;
+		adjacency = graph.getAdjacency();
+		distances = graph.getDistanceMatrix();
+		for (int row = 0; row < nodeCount; row++) {
+			for (int col = 0; col < row; col++) {
+				if (adjacency[row][col] != adjacency[col][row])
+					throw new IllegalArgumentException("Adjacency matrix must be symmetric");
+			}
+		}
+		componentOf = new int[nodeCount];
+		for (int node = 0; node < nodeCount; node++) {
+			int first = 0;
+			while (distances[node][first] == Graph.INF)
+				first++;
+			componentOf[node] = first;
+		}
+	}
+
+	public void addEdge(int from, int to) {
+		addEdge(from, to, 1);
+	}
+
+	/**
+	 * Adds the undirected edge between two nodes, or changes its weight if it already exists.
+	 * Steps:
+	 * 1. If the edge exists with a smaller weight, remove it first, since a heavier edge can only make paths longer.
+	 * 2. Relax every pair of nodes over the new edge in O(n^2):
+	 *    d(i,j) = min(d(i,j), d(i,u) + w + d(v,j), d(i,v) + w + d(u,j)),
+	 *    using the distances to u and v from before the insertion.
+	 * 3. If the two nodes were in different components, merge the components.
+	 *
+	 * @param from   The first node (1-based).
+	 * @param to     The second node (1-based).
+	 * @param weight The weight of the edge, must be >= 1.
+	 */
+	public void addEdge(int from, int to, int weight) {
+		int u = checkNode(from);
+		int v = checkNode(to);
+		if (u == v)
+			throw new IllegalArgumentException("Loops are not supported");
+		if (weight < 1)
+			throw new IllegalArgumentException("weight must be >= 1");
+		if (adjacency[u][v] == weight)
+			return;
+		if (adjacency[u][v] != 0 && adjacency[u][v] < weight)
+			removeEdge(from, to);
+
+		adjacency[u][v] = weight;
+		adjacency[v][u] = weight;
+		int[] toU = distances[u].clone();
+		int[] toV = distances[v].clone();
+		for (int i = 0; i < nodeCount; i++) {
+			int[] row = distances[i];
+			for (int j = 0; j < nodeCount; j++) {
+				if (toU[i] != Graph.INF && toV[j] != Graph.INF && toU[i] + weight + toV[j] < row[j])
+					row[j] = toU[i] + weight + toV[j];
+				if (toV[i] != Graph.INF && toU[j] != Graph.INF && toV[i] + weight + toU[j] < row[j])
+					row[j] = toV[i] + weight + toU[j];
+			}
+		}
+
+		int oldLabel = Math.max(componentOf[u], componentOf[v]);
+		int newLabel = Math.min(componentOf[u], componentOf[v]);
+		if (oldLabel != newLabel) {
+			for (int node = 0; node < nodeCount; node++) {
+				if (componentOf[node] == oldLabel)
+					componentOf[node] = newLabel;
+			}
+		}
+		markDirty();
+	}
+
+	/**
+	 * Removes the undirected edge between two nodes.
+	 * Steps:
+	 * 1. Find the affected sources: a shortest path from source i uses the edge (u,v) with weight w
+	 *    only if |d(i,u) - d(i,v)| == w. The rows of all other sources stay the same.
+	 * 2. Remove the edge and recalculate the rows of the affected sources with Dijkstra,
+	 *    the columns are updated from the rows because the graph is undirected.
+	 * 3. If u cannot reach v anymore, the edge was a bridge: split the component
+	 *    into the nodes reachable from u and the nodes reachable from v.
+	 *
+	 * @param from The first node (1-based).
+	 * @param to   The second node (1-based).
+	 * @return false if there was no such edge.
+	 */
+	public boolean removeEdge(int from, int to) {
+		int u = checkNode(from);
+		int v = checkNode(to);
+		int weight = adjacency[u][v];
+		if (weight == 0)
+			return false;
+
+		List<Integer> affected = new ArrayList<>();
+		for (int i = 0; i < nodeCount; i++) {
+			int du = distances[i][u];
+			int dv = distances[i][v];
+			if (du != Graph.INF && dv != Graph.INF && Math.abs(du - dv) == weight)
+				affected.add(i);
+		}
+
+		adjacency[u][v] = 0;
+		adjacency[v][u] = 0;
+		boolean[] finished = new boolean[nodeCount];
+		for (int source : affected) {
+			Graph.shortestDistances(adjacency, source, distances[source], finished);
+			for (int j = 0; j < nodeCount; j++)
+				distances[j][source] = distances[source][j];
+		}
+
+		if (distances[u][v] == Graph.INF) {
+			relabel(u);
+			relabel(v);
+		}
+		markDirty();
+		return true;
+	}
+
+	public boolean hasEdge(int from, int to) {
+		return adjacency[checkNode(from)][checkNode(to)] != 0;
+	}
+
+	public int distance(int from, int to) {
+		return distances[checkNode(from)][checkNode(to)];
+	}
+
+	public boolean isReachable(int from, int to) {
+		return distance(from, to) != Graph.INF;
+	}
+
+	public int[][] getAdjacency() {
+		return new SquareMatrix(adjacency).getArray();
+	}
+
+	public int[][] getDistanceMatrix() {
+		return new SquareMatrix(distances).getArray();
+	}
+
+	/**
+	 * @return The path matrix: 1 if there is a path between the nodes, otherwise 0.
+	 */
+	public int[][] getPathMatrix() {
+		int[][] result = new int[nodeCount][nodeCount];
+		for (int row = 0; row < nodeCount; row++) {
+			for (int col = 0; col < nodeCount; col++) {
+				result[row][col] = distances[row][col] == Graph.INF ? 0 : 1;
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Returns the components from the maintained component labels.
+	 * The components are ordered by their smallest node, the nodes of a component ascending.
+	 * @return A list containing the connected components of the graph.
+	 */
+	public List<List<Integer>> components() {
+		List<List<Integer>> components = new ArrayList<>();
+		int[] index = new int[nodeCount];
+		for (int node = 0; node < nodeCount; node++) {
+			if (componentOf[node] == node) {
+				index[node] = components.size();
+				components.add(new ArrayList<>());
+			}
+			components.get(index[componentOf[node]]).add(node + 1);
+		}
+		return components;
+	}
+
+	/**
+	 * @return The bridges of the graph, recalculated only if the graph has changed since the last call.
+	 */
+	public List<List<Integer>> bridges() {
+		if (bridges == null)
+			bridges = Graph.bridges(adjacency);
+		return bridges;
+	}
+
+	/**
+	 * @return The articulations of the graph, recalculated only if the graph has changed since the last call.
+	 */
+	public List<Integer> articulations() {
+		if (articulations == null)
+			articulations = Graph.articulations(adjacency);
+		return articulations;
+	}
+
+	/**
+	 * Creates an immutable {@link Graph} of the current state from the maintained matrices,
+	 * e.g. for eccentricity, radius, diameter and center.
+	 */
+	public Graph snapshot() {
+		return new Graph(new SquareMatrix(getAdjacency()), new SquareMatrix(getDistanceMatrix()),
+				new SquareMatrix(getPathMatrix()));
+	}
+
+	/**
+	 * Gives all nodes reachable from the node the label of the smallest of them.
+	 */
+	private void relabel(int node) {
+		int[] row = distances[node];
+		int label = 0;
+		while (row[label] == Graph.INF)
+			label++;
+		for (int i = label; i < nodeCount; i++) {
+			if (row[i] != Graph.INF)
+				componentOf[i] = label;
+		}
+	}
+
+	private void markDirty() {
+		bridges = null;
+		articulations = null;
+	}
+
+	private int checkNode(int node) {
+		if (node < 1 || node > nodeCount)
+			throw new IllegalArgumentException("Node must be between 1 and " + nodeCount);
+		return node - 1;
+	}
+}
@@ -12,6 +12,20 @@ public class Graph {
 	public final SquareMatrix pathMatrix;
 	public final int nodeCount; // Die Anzahl der Knoten des eingelesenen Graphen.
 	public static final int INF = Integer.MAX_VALUE;
+	/**
+	 * From this number of nodes on, the components of an undirected graph are found with
+	 * {@link ParallelComponents}, see {@link #findComponents(int[][])}.
+	 */
+	public static final int PARALLEL_COMPONENTS_THRESHOLD = 1024;
+
+	/**
+	 * Receives the distance rows of {@link #distanceRows(int[][], RowConsumer)} one after another.
+	 * The row array is reused for the next row and must not be kept.
+	 */
+	@FunctionalInterface
+	public interface RowConsumer {
+		void accept(int row, int[] distances) throws GraphException;
+	}
 
 
 	public Graph(SquareMatrix adj)  {
@@ -21,6 +35,16 @@ public class Graph {
 		pathMatrix = calculatePathMatrix();
 	}
 
+	/**
+	 * Creates a graph from already calculated matrices, without calculating them again.
+	 */
+	Graph(SquareMatrix adj, SquareMatrix distanceMatrix, SquareMatrix pathMatrix) {
+		this.adjacency = adj;
+		nodeCount = adjacency.getDimension();
+		this.distanceMatrix = distanceMatrix;
+		this.pathMatrix = pathMatrix;
+	}
+
 	public int[][] getAdjacency(){
 		return adjacency.getArray();
 	}
@@ -31,6 +55,46 @@ public class Graph {
 		return pathMatrix.getArray();
 	}
 
+	/**
+	 * @return The shortest distance between two nodes (1-based), INF if there is no path.
+	 */
+	public int distance(int from, int to) {
+		return distanceMatrix.getValue(from - 1, to - 1);
+	}
+
+	/**
+	 * Determines one shortest path between two nodes from the distance matrix.
+	 * Starting at the first node, the path always continues with a neighbor over which
+	 * the remaining distance to the target decreases by exactly the weight of the edge.
+	 * @param from The first node (1-based).
+	 * @param to   The last node (1-based).
+	 * @return The nodes of the path (1-based) including both ends, empty if there is no path.
+	 */
+	public List<Integer> shortestPath(int from, int to) {
+		List<Integer> path = new ArrayList<>();
+		int node = from - 1;
+		int target = to - 1;
+		if (distanceMatrix.getValue(node, target) == INF)
+			return path;
+		path.add(from);
+		while (node != target) {
+			int rest = distanceMatrix.getValue(node, target);
+			int next = -1;
+			for (int neighbor = 0; neighbor < nodeCount && next == -1; neighbor++) {
+				int weight = adjacency.getValue(node, neighbor);
+				if (weight > 0 && distanceMatrix.getValue(neighbor, target) != INF
+						&& weight + distanceMatrix.getValue(neighbor, target) == rest) {
+					next = neighbor;
+				}
+			}
+			if (next == -1)
+				throw new IllegalStateException("Distance matrix does not match the adjacency");
+			node = next;
+			path.add(node + 1);
+		}
+		return path;
+	}
+
 
 
 	/**
@@ -72,6 +136,62 @@ public class Graph {
 		return new SquareMatrix(result);
 	}
 
+	/**
+	 * Calculates the shortest path distances row by row and hands every row to the consumer
+	 * as soon as it is finished, so the full distance matrix never has to be held in memory.
+	 * The rows are the same as the rows of the distance matrix of the graph as long as no edge
+	 * weight is negative: unlike Floyd-Warshall in {@link #getDistanceMatrix()}, Dijkstra's algorithm
+	 * does not support negative weights, so the rows can differ from the distance matrix then.
+	 * Steps:
+	 * 1. For each node as source, run Dijkstra's algorithm on the adjacency matrix:
+	 *    - Start with distance 0 for the source and infinity (INF) for all other nodes.
+	 *    - Repeatedly take the unfinished node with the smallest distance and relax all its edges.
+	 *    - Stop when no reachable unfinished node is left.
+	 * 2. Pass the finished row to the consumer and reuse the arrays for the next source.
+	 *
+	 * @param matrix   The adjacency matrix of the graph (0 = no edge, otherwise the edge weight).
+	 * @param consumer Receives the row index and the distances of that row.
+	 * @throws GraphException If the consumer fails.
+	 */
+	public static void distanceRows(int[][] matrix, RowConsumer consumer) throws GraphException {
+		int nodeCount = matrix.length;
+		int[] distances = new int[nodeCount];
+		boolean[] finished = new boolean[nodeCount];
+		for (int source = 0; source < nodeCount; source++) {
+			shortestDistances(matrix, source, distances, finished);
+			consumer.accept(source, distances);
+		}
+	}
+
+	/**
+	 * Single source Dijkstra on an adjacency matrix, used by {@link #distanceRows} and the {@link DynamicGraph}.
+	 * @param distances Receives the distances from the source (INF if unreachable).
+	 * @param finished  Work array of the same length, its content is overwritten.
+	 */
+	static void shortestDistances(int[][] matrix, int source, int[] distances, boolean[] finished) {
+		int nodeCount = matrix.length;
+		Arrays.fill(distances, INF);
+		Arrays.fill(finished, false);
+		distances[source] = 0;
+		while (true) {
+			int node = -1;
+			for (int i = 0; i < nodeCount; i++) {
+				if (!finished[i] && distances[i] != INF && (node == -1 || distances[i] < distances[node]))
+					node = i;
+			}
+			if (node == -1)
+				break;
+			finished[node] = true;
+			int[] edges = matrix[node];
+			for (int neighbor = 0; neighbor < nodeCount; neighbor++) {
+				if (edges[neighbor] != 0 && !finished[neighbor]
+						&& distances[node] + edges[neighbor] < distances[neighbor]) {
+					distances[neighbor] = distances[node] + edges[neighbor];
+				}
+			}
+		}
+	}
+
 	/**
 	 * Calculates the path matrix to determine the existence of paths between all pairs of nodes in the graph.
 	 * Steps:
@@ -152,9 +272,17 @@ public class Graph {
 	public int radius() throws GraphException { // min Wert bei exentri.
 		if (distanceMatrixIsNotConnected()) throw new GraphException("Graph not connected");
 
-		int [] exzentrizitaeten = eccentricity();
-		int radius = exzentrizitaeten[0];
-		for (int j : exzentrizitaeten)
+		return radius(eccentricity());
+	}
+
+	/**
+	 * Calculates the radius from already calculated eccentricities.
+	 * @param eccentricities The eccentricities of a connected graph.
+	 * @return The smallest eccentricity.
+	 */
+	public static int radius(int[] eccentricities) {
+		int radius = eccentricities[0];
+		for (int j : eccentricities)
 			radius = Math.min(j, radius);
 
 		return radius;
@@ -175,9 +303,17 @@ public class Graph {
 	public int diameter() throws GraphException {// Max Wert bei exentri.
 		if (distanceMatrixIsNotConnected()) throw new GraphException("Graph not connected");
 
-		int[] exzentrizitaeten = eccentricity();
-		int dm = exzentrizitaeten[0];
-		for (int j : exzentrizitaeten)
+		return diameter(eccentricity());
+	}
+
+	/**
+	 * Calculates the diameter from already calculated eccentricities.
+	 * @param eccentricities The eccentricities of a connected graph.
+	 * @return The largest eccentricity.
+	 */
+	public static int diameter(int[] eccentricities) {
+		int dm = eccentricities[0];
+		for (int j : eccentricities)
 			dm = Math.max(j, dm);
 
 		return dm;
@@ -203,8 +339,16 @@ public class Graph {
 			throw new GraphException("Graph not connected");
 		}
 
-		int[] eccentricities = eccentricity();
-		int radius = radius();
+		return center(eccentricity());
+	}
+
+	/**
+	 * Determines the central nodes from already calculated eccentricities.
+	 * @param eccentricities The eccentricities of a connected graph.
+	 * @return A list of the nodes (1-based) whose eccentricity equals the radius.
+	 */
+	public static List<Integer> center(int[] eccentricities) {
+		int radius = radius(eccentricities);
 		ArrayList<Integer> centers = new ArrayList<>();
 
 		for(int i = 0; i < eccentricities.length; i++) {
@@ -214,6 +358,28 @@ public class Graph {
 		return centers;
 	}
 
+	/**
+	 * Determines the connected components of this graph, see {@link #findComponents(int[][])}.
+	 * @return A list containing the connected components of the graph
+	 */
+	public List<List<Integer>> components() {
+		return findComponents(adjacency.getArray());
+	}
+
+	/**
+	 * Determines the connected components like {@link #components(int[][])}. Symmetric matrices with
+	 * at least PARALLEL_COMPONENTS_THRESHOLD nodes use {@link ParallelComponents} instead, which finds
+	 * the same components but sorts the nodes of each one ascending. Matrices that are not symmetric
+	 * always use the DFS, since there the components follow the direction of the edges.
+	 * @param matrix The adjacency matrix of the graph
+	 * @return A list containing the connected components of the graph
+	 */
+	static List<List<Integer>> findComponents(int[][] matrix) {
+		if (matrix.length >= PARALLEL_COMPONENTS_THRESHOLD && ParallelComponents.isSymmetric(matrix))
+			return ParallelComponents.components(matrix, true);
+		return components(matrix);
+	}
+
 	/**
 	 * Determines and returns the connected components of a given graph.
 	 * The method identifies separate connected components in the graph
@@ -291,12 +457,24 @@ public class Graph {
 	 *   @return A list containing the bridges of the graph.
 	 *  */
 	public List<List<Integer>> bridges() {
+		return bridges(adjacency.getArray());
+	}
+
+	/**
+	 * Identifies the bridges of the graph given by an adjacency matrix, see {@link #bridges()}.
+	 * Every non-zero cell is an edge, whatever its weight. The passed matrix is not modified.
+	 * @param matrix The adjacency matrix of the graph.
+	 * @return A list containing the bridges of the graph.
+	 */
+	public static List<List<Integer>> bridges(int[][] matrix) {
+		int nodeCount = matrix.length;
 		List<List<Integer>> bridges = new ArrayList<>();
-		int[][] workMatrix = adjacency.getArray();
+		int[][] workMatrix = new SquareMatrix(matrix).getArray();
 		int componentsSize = components(workMatrix).size();
 		for (int row = 0; row < nodeCount; row++) {
 			for (int col = 0; col < nodeCount; col++) {
-				if (workMatrix[row][col] == 1) {
+				int weight = workMatrix[row][col];
+				if (weight != 0) {
 					workMatrix[row][col] = 0;
 					if (components(workMatrix).size() > componentsSize) {
 						List<Integer> bruecke = new ArrayList<>();
@@ -305,7 +483,7 @@ public class Graph {
 						if (!bridges.contains(bruecke))
 							bridges.add(bruecke);
 					}
-					workMatrix[row][col] = 1;
+					workMatrix[row][col] = weight;
 				}
 			}
 		}
@@ -321,7 +499,19 @@ public class Graph {
 	 *  @return A list of indices representing the articulation nodes in the graph.
 	 *  */
 	public List<Integer> articulations() {
-		int componentsSize = components(adjacency.getArray()).size();
+		return articulations(adjacency.getArray());
+	}
+
+	/**
+	 * Identifies the articulations of the graph given by an adjacency matrix, see {@link #articulations()}.
+	 * The passed matrix is not modified.
+	 * @param matrix The adjacency matrix of the graph.
+	 * @return A list of indices representing the articulation nodes in the graph.
+	 */
+	public static List<Integer> articulations(int[][] matrix) {
+		int nodeCount = matrix.length;
+		var adjacency = new SquareMatrix(matrix);
+		int componentsSize = components(matrix).size();
 		ArrayList<Integer> artikulationen = new ArrayList<>();
 		for(int aktknoten = 0; aktknoten < nodeCount; aktknoten++)
 		{
@@ -342,6 +532,23 @@ public class Graph {
 		return artikulationen;
 	}
 
+	/**
+	 * Calculates the closeness centrality of every node, see {@link Centrality#closeness(int[][])}.
+	 * Unlike the center, it ranks all nodes and also works for graphs that are not connected.
+	 * @return The closeness of each node, indexed by node - 1.
+	 */
+	public double[] closeness() {
+		return Centrality.closeness(adjacency.getArray());
+	}
+
+	/**
+	 * Calculates the betweenness centrality of every node, see {@link Centrality#betweenness(int[][])}.
+	 * @return The betweenness of each node, indexed by node - 1.
+	 */
+	public double[] betweenness() {
+		return Centrality.betweenness(adjacency.getArray());
+	}
+
 	/***
 	 * Help Method to check if the graph is connected
 	 */
@@ -0,0 +1,289 @@
+package Model;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Local HTTP server that answers queries about the graphs of a directory, so the JVM and the
+ * parsed graphs stay warm between requests. The analyzed graphs are kept in an LRU cache that is
+ * limited by the estimated memory of their matrices. Every request runs on its own thread.
+ * <p>
+ * Queries (all GET, nodes are 1-based, the answer is JSON):
+ * <pre>
+ * /distance?graph=file.csv&amp;from=1&amp;to=5
+ * /path?graph=file.csv&amp;from=1&amp;to=5
+ * /center?graph=file.csv
+ * /components?graph=file.csv
+ * /bridges?graph=file.csv
+ * /articulations?graph=file.csv
+ * </pre>
+ */
+public class GraphServer {
+	public static final long DEFAULT_MAX_BYTES = 512L << 20;
+	private static final Set<String> QUERIES =
+			Set.of("/distance", "/path", "/center", "/components", "/bridges", "/articulations");
+
+	private final Path graphDirectory;
+	private final long maxBytes;
+	private final ResultCache resultCache; // null = ohne Cache auf der Platte
+	private final AnalysisRunner runner = new AnalysisRunner();
+
+	// LRU: access-order, der aelteste Eintrag steht vorne
+	private final LinkedHashMap<String, AnalysisReport> graphs = new LinkedHashMap<>(16, 0.75f, true);
+	private final Map<String, CompletableFuture<AnalysisReport>> loading = new HashMap<>();
+	private long cachedBytes;
+
+	private HttpServer server;
+	private ExecutorService requestThreads;
+
+	/**
+	 * @param graphDirectory The directory with the CSV files that can be queried.
+	 * @param maxBytes       The memory limit of the graph cache.
+	 * @param resultCache    The on-disk result cache used when loading a graph, or null.
+	 */
+	public GraphServer(Path graphDirectory, long maxBytes, ResultCache resultCache) {
+		if (maxBytes < 1)
+			throw new IllegalArgumentException("maxBytes must be >= 1");
+		this.graphDirectory = graphDirectory.toAbsolutePath().normalize();
+		this.maxBytes = maxBytes;
+		this.resultCache = resultCache;
+	}
+
+	/**
+	 * Starts the server on the loopback address.
+	 * @param port The port, 0 for any free port.
+	 */
+	public synchronized void start(int port) throws GraphException {
+		try {
+			server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+		} catch (IOException e) {
+			throw new GraphException("Error starting server on port " + port + ": " + e.getMessage());
+		}
+		requestThreads = Executors.newCachedThreadPool();
+		server.setExecutor(requestThreads);
+		server.createContext("/", this::handle);
+		server.start();
+	}
+
+	public synchronized void stop() {
+		if (server != null) {
+			server.stop(0);
+			requestThreads.shutdownNow();
+			server = null;
+		}
+	}
+
+	public int getPort() {
+		return server.getAddress().getPort();
+	}
+
+	private void handle(HttpExchange exchange) throws IOException {
+		int status = 200;
+		String body;
+		try {
+			if (!exchange.getRequestMethod().equals("GET")) {
+				status = 405;
+				body = error("Only GET is supported");
+			} else {
+				body = answer(exchange.getRequestURI().getPath(), parseQuery(exchange.getRequestURI().getRawQuery()));
+			}
+		} catch (NotFoundException e) {
+			status = 404;
+			body = error(e.getMessage());
+		} catch (IllegalArgumentException e) {
+			status = 400;
+			body = error(e.getMessage());
+		} catch (GraphException | RuntimeException e) {
+			status = 500;
+			body = error(e.getMessage() == null ? e.getClass().getSimpleName() : e.getMessage());
+		}
+		byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+		exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+		exchange.sendResponseHeaders(status, bytes.length);
+		try (OutputStream out = exchange.getResponseBody()) {
+			out.write(bytes);
+		}
+	}
+
+	private String answer(String endpoint, Map<String, String> query) throws GraphException {
+		// erst pruefen, dann laden: eine unbekannte Abfrage soll keine Analyse starten
+		if (!QUERIES.contains(endpoint))
+			throw new NotFoundException("Unknown query " + endpoint);
+		String name = require(query, "graph");
+		var report = report(name);
+		String prefix = "{\"graph\":" + Json.quote(name);
+		return switch (endpoint) {
+			case "/distance" -> {
+				int from = node(query, "from", report);
+				int to = node(query, "to", report);
+				int distance = report.graph().distance(from, to);
+				yield prefix + ",\"from\":" + from + ",\"to\":" + to
+						+ ",\"distance\":" + (distance == Graph.INF ? "null" : distance) + "}";
+			}
+			case "/path" -> {
+				int from = node(query, "from", report);
+				int to = node(query, "to", report);
+				var path = report.graph().shortestPath(from, to);
+				yield prefix + ",\"from\":" + from + ",\"to\":" + to
+						+ ",\"reachable\":" + !path.isEmpty() + ",\"path\":" + path + "}";
+			}
+			case "/center" -> prefix + ",\"connected\":" + report.isConnected()
+					+ ",\"radius\":" + (report.isConnected() ? report.radius() : "null")
+					+ ",\"eccentricities\":" + (report.isConnected() ? Arrays.toString(report.eccentricities()) : "null")
+					+ ",\"center\":" + report.center() + "}";
+			case "/components" -> prefix + ",\"components\":" + report.components() + "}";
+			case "/bridges" -> prefix + ",\"bridges\":" + report.bridges() + "}";
+			case "/articulations" -> prefix + ",\"articulations\":" + report.articulations() + "}";
+			default -> throw new IllegalStateException("Query without answer " + endpoint);
+		};
+	}
+
+	/**
+	 * Returns the analyzed graph from the cache or loads it.
+	 * Steps:
+	 * 1. Resolve the file in the graph directory; the key contains the modification time,
+	 *    so a changed file is loaded again.
+	 * 2. On a cache hit, return the report (and mark it as recently used).
+	 * 3. Otherwise, if another request is already loading the graph, wait for its result.
+	 * 4. Otherwise, load and analyze the graph, insert it and evict the least recently used
+	 *    graphs until the estimated memory is below the limit again. The waiting requests get
+	 *    the result or the failure in any case, also if the loader fails with an Error.
+	 *    Every failure while loading is a GraphException, which is answered with 500.
+	 */
+	private AnalysisReport report(String name) throws GraphException {
+		Path file = graphDirectory.resolve(name).normalize();
+		if (!file.getParent().equals(graphDirectory) || !name.endsWith(".csv") || !Files.isRegularFile(file))
+			throw new NotFoundException("Unknown graph " + name);
+		String key;
+		try {
+			key = name + "@" + Files.getLastModifiedTime(file).toMillis();
+		} catch (IOException e) {
+			throw new NotFoundException("Unknown graph " + name);
+		}
+
+		CompletableFuture<AnalysisReport> future;
+		boolean loader = false;
+		synchronized (this) {
+			var report = graphs.get(key);
+			if (report != null)
+				return report;
+			future = loading.get(key);
+			if (future == null) {
+				future = new CompletableFuture<>();
+				loading.put(key, future);
+				loader = true;
+			}
+		}
+
+		if (loader) {
+			try {
+				var adjacency = SquareMatrix.fromCSV(file.toString());
+				var report = resultCache == null ? runner.analyze(adjacency) : resultCache.analyze(adjacency, runner);
+				insert(key, report);
+				future.complete(report);
+			} catch (Throwable e) {
+				future.completeExceptionally(e);
+			} finally {
+				synchronized (this) {
+					loading.remove(key);
+				}
+			}
+		}
+		try {
+			return future.join();
+		} catch (CompletionException e) {
+			// Fehler beim Laden liegen am Graphen, nicht an der Anfrage (auch eine NumberFormatException
+			// einer kaputten CSV oder ein OutOfMemoryError): immer als 500 beantworten
+			if (e.getCause() instanceof GraphException cause)
+				throw cause;
+			throw new GraphException("Error loading " + name + ": " + e.getCause());
+		}
+	}
+
+	private synchronized void insert(String key, AnalysisReport report) {
+		graphs.put(key, report);
+		cachedBytes += estimatedBytes(report);
+		Iterator<AnalysisReport> eldest = graphs.values().iterator();
+		// der neue Eintrag bleibt immer drin, auch wenn er allein ueber dem Limit liegt
+		while (cachedBytes > maxBytes && graphs.size() > 1) {
+			cachedBytes -= estimatedBytes(eldest.next());
+			eldest.remove();
+		}
+	}
+
+	/**
+	 * Estimates the memory of an analyzed graph: the adjacency, distance and path matrix
+	 * with n*n ints each, plus the result lists.
+	 */
+	private static long estimatedBytes(AnalysisReport report) {
+		long n = report.nodeCount();
+		return 3 * n * (n * Integer.BYTES + 16) + 64 * n + 256;
+	}
+
+	private static int node(Map<String, String> query, String parameter, AnalysisReport report) {
+		int node;
+		try {
+			node = Integer.parseInt(require(query, parameter));
+		} catch (NumberFormatException e) {
+			throw new IllegalArgumentException("Parameter " + parameter + " must be a number");
+		}
+		if (node < 1 || node > report.nodeCount())
+			throw new IllegalArgumentException("Parameter " + parameter + " must be between 1 and " + report.nodeCount());
+		return node;
+	}
+
+	private static String require(Map<String, String> query, String parameter) {
+		String value = query.get(parameter);
+		if (value == null || value.isEmpty())
+			throw new IllegalArgumentException("Missing parameter " + parameter);
+		return value;
+	}
+
+	private static Map<String, String> parseQuery(String rawQuery) {
+		Map<String, String> query = new HashMap<>();
+		if (rawQuery == null)
+			return query;
+		for (String pair : rawQuery.split("&")) {
+			int split = pair.indexOf('=');
+			if (split > 0) {
+				query.put(URLDecoder.decode(pair.substring(0, split), StandardCharsets.UTF_8),
+						URLDecoder.decode(pair.substring(split + 1), StandardCharsets.UTF_8));
+			}
+		}
+		return query;
+	}
+
+	private static String error(String message) {
+		return "{\"error\":" + Json.quote(message) + "}";
+	}
+
+	/**
+	 * Unknown graph or query, answered with 404.
+	 */
+	private static class NotFoundException extends IllegalArgumentException {
+		private static final long serialVersionUID = 1L;
+
+		NotFoundException(String message) {
+			super(message);
+		}
+	}
+}
@@ -0,0 +1,35 @@
+package Model;
+
+/**
+ * Small helpers for the hand written JSON output of the batch mode and the server.
+ * Lists of integers need no helper, since List.toString() and Arrays.toString()
+ * already produce valid JSON arrays.
+ */
+final class Json {
+
+	private Json() {
+	}
+
+	/**
+	 * Quotes and escapes a string as JSON string literal.
+	 */
+	static String quote(String value) {
+		StringBuilder sb = new StringBuilder(value.length() + 2).append('"');
+		for (char c : value.toCharArray()) {
+			switch (c) {
+				case '"' -> sb.append("\\\"");
+				case '\\' -> sb.append("\\\\");
+				case '\n' -> sb.append("\\n");
+				case '\r' -> sb.append("\\r");
+				case '\t' -> sb.append("\\t");
+				default -> {
+					if (c < 0x20)
+						sb.append(String.format("\\u%04x", (int) c));
+					else
+						sb.append(c);
+				}
+			}
+		}
+		return sb.append('"').toString();
+	}
+}
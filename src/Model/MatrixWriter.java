@@ -0,0 +1,136 @@
+package Model;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Writes matrices row by row in the format of the console output
+ * (" N " for infinite, otherwise " value ").
+ * The cells are formatted directly into one reusable byte buffer, which is only written
+ * to the target channel when it is full, instead of one print call per cell.
+ * As a {@link Graph.RowConsumer} it can stream the rows of {@link Graph#distanceRows}.
+ */
+public class MatrixWriter implements Graph.RowConsumer, AutoCloseable {
+	private static final int BUFFER_SIZE = 1 << 16;
+	private static final int MAX_CELL_LENGTH = 13; // " -2147483648 "
+	private static final byte[] INFINITE = " N ".getBytes(StandardCharsets.US_ASCII);
+	private static final byte[] LINE_SEPARATOR = System.lineSeparator().getBytes(StandardCharsets.US_ASCII);
+
+	private final WritableByteChannel channel;
+	private final OutputStream stream; // null when writing to a file
+	private final ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+	private final byte[] digits = new byte[10];
+
+	/**
+	 * Creates a writer on an output stream. The stream is flushed but not closed by {@link #close()},
+	 * so it can be used with System.out.
+	 */
+	public MatrixWriter(OutputStream out) {
+		this(Channels.newChannel(out), out);
+	}
+
+	private MatrixWriter(WritableByteChannel channel, OutputStream stream) {
+		this.channel = channel;
+		this.stream = stream;
+	}
+
+	/**
+	 * Creates a writer that writes into the given file through a FileChannel.
+	 * An existing file is overwritten.
+	 */
+	public static MatrixWriter toFile(Path path) throws GraphException {
+		try {
+			return new MatrixWriter(FileChannel.open(path, StandardOpenOption.CREATE,
+					StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE), null);
+		} catch (IOException e) {
+			throw new GraphException("Error opening " + path + ": " + e.getMessage());
+		}
+	}
+
+	public void writeMatrix(int[][] matrix) throws GraphException {
+		for (int row = 0; row < matrix.length; row++)
+			accept(row, matrix[row]);
+		flush();
+	}
+
+	@Override
+	public void accept(int row, int[] values) throws GraphException {
+		for (int value : values) {
+			if (buffer.remaining() < MAX_CELL_LENGTH)
+				drain();
+			if (value == Graph.INF)
+				buffer.put(INFINITE);
+			else
+				putCell(value);
+		}
+		if (buffer.remaining() < LINE_SEPARATOR.length)
+			drain();
+		buffer.put(LINE_SEPARATOR);
+	}
+
+	public void flush() throws GraphException {
+		drain();
+		try {
+			if (stream != null)
+				stream.flush();
+		} catch (IOException e) {
+			throw new GraphException("Error writing matrix: " + e.getMessage());
+		}
+	}
+
+	/**
+	 * Flushes the buffer. A file channel is closed, an output stream stays open.
+	 */
+	@Override
+	public void close() throws GraphException {
+		flush();
+		try {
+			if (stream == null)
+				channel.close();
+		} catch (IOException e) {
+			throw new GraphException("Error writing matrix: " + e.getMessage());
+		}
+	}
+
+	/**
+	 * Formats " value " into the buffer without creating a String.
+	 */
+	private void putCell(int value) {
+		buffer.put((byte) ' ');
+		long rest = value;
+		if (rest < 0) {
+			buffer.put((byte) '-');
+			rest = -rest;
+		}
+		int count = 0;
+		do {
+			digits[count++] = (byte) ('0' + rest % 10);
+			rest /= 10;
+		} while (rest != 0);
+		while (count > 0)
+			buffer.put(digits[--count]);
+		buffer.put((byte) ' ');
+	}
+
+	/**
+	 * Writes the buffered bytes to the channel and empties the buffer.
+	 */
+	private void drain() throws GraphException {
+		buffer.flip();
+		try {
+			while (buffer.hasRemaining())
+				channel.write(buffer);
+		} catch (IOException e) {
+			throw new GraphException("Error writing matrix: " + e.getMessage());
+		} finally {
+			buffer.clear();
+		}
+	}
+}
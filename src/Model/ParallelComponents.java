@@ -0,0 +1,177 @@
+package Model;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.stream.IntStream;
+
+/**
+ * Connected components on all cores, for graphs where the sequential DFS of
+ * {@link Graph#components(int[][])} is too slow (or too deep for the recursion).
+ * Uses a concurrent union-find in the style of Afforest: the rows of the adjacency matrix are
+ * processed in parallel and two trees are linked by a compare-and-set of the larger root onto
+ * the smaller one, without any locks. So the root of every component is its smallest node.
+ * The grouping is the same as the one of Graph.components for undirected graphs; for a matrix
+ * that is not symmetric, every edge is taken as undirected (weakly connected components),
+ * which is why {@link Graph#findComponents(int[][])} only uses it for symmetric matrices.
+ */
+public class ParallelComponents {
+	/** Neighbors linked per node before the largest component is estimated. */
+	private static final int NEIGHBOR_ROUNDS = 2;
+	private static final int SAMPLES = 1024;
+
+	private ParallelComponents() {
+	}
+
+	/**
+	 * Determines the connected components of the graph in parallel.
+	 * @param matrix The adjacency matrix of the graph.
+	 * @return The components ordered by their smallest node, the nodes of every component ascending.
+	 */
+	public static List<List<Integer>> components(int[][] matrix) {
+		return components(matrix, isSymmetric(matrix));
+	}
+
+	/**
+	 * @param symmetric Whether the matrix is symmetric, if the caller has already checked it.
+	 */
+	static List<List<Integer>> components(int[][] matrix, boolean symmetric) {
+		int[] labels = labels(matrix, symmetric);
+		List<List<Integer>> components = new ArrayList<>();
+		int[] index = new int[labels.length];
+		for (int node = 0; node < labels.length; node++) {
+			if (labels[node] == node) {
+				index[node] = components.size();
+				components.add(new ArrayList<>());
+			}
+			components.get(index[labels[node]]).add(node + 1);
+		}
+		return components;
+	}
+
+	/**
+	 * Calculates the component label of every node, the smallest node (0-based) of its component.
+	 * Steps:
+	 * 1. Link every node with its first neighbors only, in parallel. For most graphs this already
+	 *    puts the bulk of the nodes into one large tree.
+	 * 2. Compress all paths and estimate the largest component from a random sample of nodes.
+	 * 3. Link the remaining neighbors of all nodes outside of the largest component, in parallel.
+	 *    The nodes of the largest component can be skipped: since the matrix is symmetric, each of
+	 *    their remaining edges to another component is also found from the other side.
+	 *    If the matrix is not symmetric, nothing is skipped and columns are checked as well.
+	 * 4. Compress all paths again, so every node points directly to its root.
+	 */
+	public static int[] labels(int[][] matrix) {
+		return labels(matrix, isSymmetric(matrix));
+	}
+
+	private static int[] labels(int[][] matrix, boolean symmetric) {
+		int nodeCount = matrix.length;
+		var parent = new AtomicIntegerArray(nodeCount);
+		for (int node = 0; node < nodeCount; node++)
+			parent.set(node, node);
+
+		int[] resume = new int[nodeCount]; // ab dieser Spalte geht es in Schritt 3 weiter
+		IntStream.range(0, nodeCount).parallel().forEach(node -> {
+			int linked = 0;
+			int col = 0;
+			for (; col < nodeCount && linked < NEIGHBOR_ROUNDS; col++) {
+				if (col != node && isEdge(matrix, node, col, symmetric)) {
+					link(parent, node, col);
+					linked++;
+				}
+			}
+			resume[node] = col;
+		});
+
+		IntStream.range(0, nodeCount).parallel().forEach(node -> compress(parent, node));
+		int largest = symmetric ? sampleLargest(parent, nodeCount) : -1;
+
+		IntStream.range(0, nodeCount).parallel().forEach(node -> {
+			if (parent.get(node) == largest)
+				return;
+			for (int col = resume[node]; col < nodeCount; col++) {
+				if (col != node && isEdge(matrix, node, col, symmetric))
+					link(parent, node, col);
+			}
+		});
+
+		int[] labels = new int[nodeCount];
+		IntStream.range(0, nodeCount).parallel().forEach(node -> labels[node] = find(parent, node));
+		return labels;
+	}
+
+	/**
+	 * Checks in parallel whether every edge also exists in the opposite direction (the weights may differ).
+	 */
+	static boolean isSymmetric(int[][] matrix) {
+		return IntStream.range(0, matrix.length).parallel().allMatch(row -> {
+			for (int col = 0; col < row; col++) {
+				if ((matrix[row][col] != 0) != (matrix[col][row] != 0))
+					return false;
+			}
+			return true;
+		});
+	}
+
+	private static boolean isEdge(int[][] matrix, int row, int col, boolean symmetric) {
+		return matrix[row][col] != 0 || (!symmetric && matrix[col][row] != 0);
+	}
+
+	/**
+	 * Merges the trees of both nodes. The larger root is hooked onto the smaller root with a
+	 * compare-and-set, which only succeeds while it still is a root; otherwise another thread
+	 * was faster and the roots are searched again.
+	 */
+	private static void link(AtomicIntegerArray parent, int u, int v) {
+		while (true) {
+			int rootU = find(parent, u);
+			int rootV = find(parent, v);
+			if (rootU == rootV)
+				return;
+			int high = Math.max(rootU, rootV);
+			int low = Math.min(rootU, rootV);
+			if (parent.compareAndSet(high, high, low))
+				return;
+		}
+	}
+
+	/**
+	 * Finds the root with path halving: every visited node is moved up to its grandparent.
+	 * The compare-and-set only shortens paths, so it cannot break concurrent links.
+	 */
+	private static int find(AtomicIntegerArray parent, int node) {
+		while (true) {
+			int p = parent.get(node);
+			if (p == node)
+				return node;
+			int grandparent = parent.get(p);
+			if (grandparent == p)
+				return p;
+			parent.compareAndSet(node, p, grandparent);
+			node = grandparent;
+		}
+	}
+
+	private static void compress(AtomicIntegerArray parent, int node) {
+		parent.set(node, find(parent, node));
+	}
+
+	/**
+	 * @return The root that most of the sampled nodes point to.
+	 */
+	private static int sampleLargest(AtomicIntegerArray parent, int nodeCount) {
+		if (nodeCount == 0)
+			return -1;
+		int[] counts = new int[nodeCount];
+		var random = new Random(nodeCount);
+		int largest = 0;
+		for (int i = 0; i < SAMPLES; i++) {
+			int root = parent.get(random.nextInt(nodeCount));
+			if (++counts[root] > counts[largest])
+				largest = root;
+		}
+		return largest;
+	}
+}
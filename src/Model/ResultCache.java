@@ -0,0 +1,364 @@
+package Model;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.List;
+
+/**
+ * On-disk cache of analysis results, keyed by a SHA-256 hash of the adjacency matrix.
+ * Every entry stores the adjacency, distance matrix, path matrix, eccentricities, components,
+ * bridges and articulations of one graph in a compact binary file, so a hit restores the
+ * {@link AnalysisReport} including its {@link Graph} without calculating anything.
+ * The directory is limited in size: on every hit the entry's modification time is renewed,
+ * and after every write the least recently used entries are deleted until the directory
+ * is below its limit again.
+ */
+public class ResultCache {
+	public static final long DEFAULT_MAX_BYTES = 256L << 20;
+	private static final int MAGIC = 0x47524332; // "GRC2"
+	private static final String SUFFIX = ".bin";
+	private static final String TEMP_SUFFIX = ".tmp";
+	/** Temporary files older than this are left over from a crashed writer. */
+	private static final long STALE_TEMP_MILLIS = 60 * 60 * 1000;
+
+	private final Path directory;
+	private final long maxBytes;
+
+	public ResultCache(Path directory) throws GraphException {
+		this(directory, DEFAULT_MAX_BYTES);
+	}
+
+	public ResultCache(Path directory, long maxBytes) throws GraphException {
+		if (maxBytes < 1)
+			throw new IllegalArgumentException("maxBytes must be >= 1");
+		this.directory = directory;
+		this.maxBytes = maxBytes;
+		try {
+			Files.createDirectories(directory);
+		} catch (IOException e) {
+			throw new GraphException("Error creating cache directory " + directory + ": " + e.getMessage());
+		}
+	}
+
+	/**
+	 * Returns the cached report of the graph, or calculates it with the runner and stores it.
+	 */
+	public AnalysisReport analyze(SquareMatrix adjacency, AnalysisRunner runner) throws GraphException {
+		var report = get(adjacency);
+		if (report == null) {
+			report = runner.analyze(adjacency);
+			store(report);
+		}
+		return report;
+	}
+
+	/**
+	 * Loads the cached report of the graph.
+	 * An entry that cannot be read is deleted and treated as a miss.
+	 * @param adjacency The adjacency matrix of the graph.
+	 * @return The cached report, or null if there is none.
+	 */
+	public AnalysisReport get(SquareMatrix adjacency) {
+		Path file = fileOf(contentHash(adjacency));
+		AnalysisReport report;
+		try (var in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file), 1 << 16))) {
+			report = read(in, adjacency.getArray());
+		} catch (NoSuchFileException e) {
+			return null;
+		} catch (IOException | RuntimeException e) {
+			delete(file);
+			return null;
+		}
+		// gleicher Hash, aber andere Matrix: kein Treffer
+		if (report == null)
+			return null;
+		try {
+			Files.setLastModifiedTime(file, FileTime.fromMillis(System.currentTimeMillis()));
+		} catch (IOException e) {
+			// nur fuer die LRU-Reihenfolge, der Treffer bleibt gueltig
+		}
+		return report;
+	}
+
+	/**
+	 * Stores the report and evicts the least recently used entries if the cache is too big.
+	 * The entry is written to a temporary file first and then moved into place,
+	 * so concurrent readers never see a half written entry.
+	 */
+	public void put(AnalysisReport report) throws GraphException {
+		var adjacency = new SquareMatrix(report.graph().getAdjacency());
+		Path file = fileOf(contentHash(adjacency));
+		try {
+			Path temp = Files.createTempFile(directory, "entry", TEMP_SUFFIX);
+			try (var out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp), 1 << 16))) {
+				write(out, report);
+			} catch (IOException e) {
+				delete(temp);
+				throw e;
+			}
+			try {
+				Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+			} catch (IOException e) {
+				delete(temp);
+				throw e;
+			}
+		} catch (IOException e) {
+			throw new GraphException("Error writing cache entry " + file + ": " + e.getMessage());
+		}
+		evict();
+	}
+
+	/**
+	 * Stores the report like {@link #put}, but a failing write or eviction is only reported on
+	 * standard error: the report itself is still valid, it is just not cached.
+	 */
+	public void store(AnalysisReport report) {
+		try {
+			put(report);
+		} catch (GraphException | RuntimeException e) {
+			System.err.println("Result not cached: " + e.getMessage());
+		}
+	}
+
+	/**
+	 * Calculates the SHA-256 hash of the dimension and all values of the matrix.
+	 * @return The hash as hex string.
+	 */
+	public static String contentHash(SquareMatrix adjacency) {
+		try {
+			var digest = MessageDigest.getInstance("SHA-256");
+			int dimension = adjacency.getDimension();
+			byte[] row = new byte[dimension * 4];
+			digest.update(intBytes(dimension));
+			for (int[] values : adjacency.getArray()) {
+				for (int i = 0; i < dimension; i++) {
+					row[4 * i] = (byte) (values[i] >>> 24);
+					row[4 * i + 1] = (byte) (values[i] >>> 16);
+					row[4 * i + 2] = (byte) (values[i] >>> 8);
+					row[4 * i + 3] = (byte) values[i];
+				}
+				digest.update(row);
+			}
+			return HexFormat.of().formatHex(digest.digest());
+		} catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException(e); // SHA-256 muss jede JVM anbieten
+		}
+	}
+
+	/**
+	 * Deletes the least recently used entries until the directory is below its limit.
+	 * Temporary files of writers that crashed are deleted as well; younger temporary files
+	 * may still be written and are counted towards the limit.
+	 */
+	private synchronized void evict() throws GraphException {
+		record Entry(Path file, long size, long lastUsed) {}
+		List<Entry> entries = new ArrayList<>();
+		long total = 0;
+		long staleBefore = System.currentTimeMillis() - STALE_TEMP_MILLIS;
+		try (var files = Files.list(directory)) {
+			for (Path file : files.toList()) {
+				boolean temp = file.toString().endsWith(TEMP_SUFFIX);
+				if (!temp && !file.toString().endsWith(SUFFIX))
+					continue;
+				try {
+					long size = Files.size(file);
+					long lastUsed = Files.getLastModifiedTime(file).toMillis();
+					if (temp && lastUsed < staleBefore) {
+						delete(file);
+						continue;
+					}
+					if (!temp)
+						entries.add(new Entry(file, size, lastUsed));
+					total += size;
+				} catch (NoSuchFileException e) {
+					// von einem anderen Prozess geloescht
+				}
+			}
+		} catch (IOException e) {
+			throw new GraphException("Error reading cache directory " + directory + ": " + e.getMessage());
+		}
+		entries.sort(Comparator.comparingLong(Entry::lastUsed));
+		for (int i = 0; i < entries.size() && total > maxBytes; i++) {
+			delete(entries.get(i).file());
+			total -= entries.get(i).size();
+		}
+	}
+
+	private Path fileOf(String hash) {
+		return directory.resolve(hash + SUFFIX);
+	}
+
+	private static void delete(Path file) {
+		try {
+			Files.deleteIfExists(file);
+		} catch (IOException e) {
+			// wird beim naechsten Mal erneut versucht
+		}
+	}
+
+	private static byte[] intBytes(int value) {
+		return new byte[]{(byte) (value >>> 24), (byte) (value >>> 16), (byte) (value >>> 8), (byte) value};
+	}
+
+	// *************************************************************************************
+	// Binaerformat: alle Zahlen als Varint, die Matrixwerte vorher mit encode() vorzeichenlos gemacht
+	// *************************************************************************************
+
+	private static void write(DataOutputStream out, AnalysisReport report) throws IOException {
+		var graph = report.graph();
+		out.writeInt(MAGIC);
+		writeVarint(out, graph.nodeCount);
+		writeMatrix(out, graph.getAdjacency());
+		writeMatrix(out, graph.getDistanceMatrix());
+		writeMatrix(out, graph.getPathMatrix());
+		out.writeBoolean(report.isConnected());
+		if (report.isConnected()) {
+			for (int eccentricity : report.eccentricities())
+				writeVarint(out, eccentricity);
+		}
+		writeNodeLists(out, report.components());
+		writeNodeLists(out, report.bridges());
+		writeVarint(out, report.articulations().size());
+		for (int node : report.articulations())
+			writeVarint(out, node);
+	}
+
+	/**
+	 * Reads an entry. The node count is checked before any matrix is allocated, so a corrupt
+	 * entry cannot claim a huge graph.
+	 * @param expected The adjacency matrix that is looked up.
+	 * @return The report, or null if the entry belongs to another matrix with the same hash.
+	 * @throws IOException If the entry is corrupt.
+	 */
+	private static AnalysisReport read(DataInputStream in, int[][] expected) throws IOException {
+		if (in.readInt() != MAGIC)
+			throw new IOException("Not a cache entry");
+		int nodeCount = readVarint(in);
+		if (nodeCount != expected.length)
+			throw new IOException("Wrong node count " + nodeCount);
+		var adjacency = new SquareMatrix(readMatrix(in, nodeCount));
+		if (!Arrays.deepEquals(adjacency.getArray(), expected))
+			return null;
+		var distanceMatrix = new SquareMatrix(readMatrix(in, nodeCount));
+		var pathMatrix = new SquareMatrix(readMatrix(in, nodeCount));
+		int[] eccentricities = null;
+		if (in.readBoolean()) {
+			eccentricities = new int[nodeCount];
+			for (int i = 0; i < nodeCount; i++)
+				eccentricities[i] = readVarint(in);
+		}
+		var components = readNodeLists(in, nodeCount);
+		var bridges = readNodeLists(in, nodeCount);
+		int count = readVarint(in);
+		List<Integer> articulations = new ArrayList<>(Math.min(count, nodeCount));
+		for (int i = 0; i < count; i++)
+			articulations.add(readVarint(in));
+
+		var graph = new Graph(adjacency, distanceMatrix, pathMatrix);
+		return new AnalysisReport(graph, components, eccentricities,
+				eccentricities == null ? Graph.INF : Graph.diameter(eccentricities),
+				eccentricities == null ? Graph.INF : Graph.radius(eccentricities),
+				eccentricities == null ? List.of() : Graph.center(eccentricities),
+				articulations, bridges);
+	}
+
+	private static void writeMatrix(DataOutputStream out, int[][] matrix) throws IOException {
+		for (int[] row : matrix) {
+			for (int value : row)
+				writeVarint(out, encode(value));
+		}
+	}
+
+	private static int[][] readMatrix(DataInputStream in, int nodeCount) throws IOException {
+		int[][] matrix = new int[nodeCount][nodeCount];
+		for (int row = 0; row < nodeCount; row++) {
+			for (int col = 0; col < nodeCount; col++) {
+				matrix[row][col] = decode(readVarint(in));
+			}
+		}
+		return matrix;
+	}
+
+	private static void writeNodeLists(DataOutputStream out, List<List<Integer>> lists) throws IOException {
+		writeVarint(out, lists.size());
+		for (var list : lists) {
+			writeVarint(out, list.size());
+			for (int node : list)
+				writeVarint(out, node);
+		}
+	}
+
+	/**
+	 * @param nodeCount Limits the preallocated sizes, the counts of a corrupt entry can be anything.
+	 */
+	private static List<List<Integer>> readNodeLists(DataInputStream in, int nodeCount) throws IOException {
+		int count = readVarint(in);
+		List<List<Integer>> lists = new ArrayList<>(Math.min(count, nodeCount));
+		for (int i = 0; i < count; i++) {
+			int size = readVarint(in);
+			List<Integer> list = new ArrayList<>(Math.min(size, nodeCount));
+			for (int j = 0; j < size; j++)
+				list.add(readVarint(in));
+			lists.add(list);
+		}
+		return lists;
+	}
+
+	/**
+	 * Maps a matrix value to an unsigned code without collisions: INF becomes 0, so it needs only
+	 * one byte, all other values are zigzag encoded (0, -1, 1, -2, ... to 1, 2, 3, 4, ...), and
+	 * Integer.MIN_VALUE takes the last code 0xFFFFFFFF, which INF would have had.
+	 */
+	private static int encode(int value) {
+		if (value == Graph.INF)
+			return 0;
+		if (value == Integer.MIN_VALUE)
+			return -1;
+		return ((value << 1) ^ (value >> 31)) + 1;
+	}
+
+	private static int decode(int code) {
+		if (code == 0)
+			return Graph.INF;
+		if (code == -1)
+			return Integer.MIN_VALUE;
+		int zigzag = code - 1;
+		return (zigzag >>> 1) ^ -(zigzag & 1);
+	}
+
+	/**
+	 * Writes an unsigned int in 7 bit groups, small values need only one byte.
+	 */
+	private static void writeVarint(DataOutputStream out, int value) throws IOException {
+		while ((value & ~0x7F) != 0) {
+			out.writeByte((value & 0x7F) | 0x80);
+			value >>>= 7;
+		}
+		out.writeByte(value);
+	}
+
+	private static int readVarint(DataInputStream in) throws IOException {
+		int value = 0;
+		for (int shift = 0; shift < 35; shift += 7) {
+			int b = in.readUnsignedByte();
+			value |= (b & 0x7F) << shift;
+			if ((b & 0x80) == 0)
+				return value;
+		}
+		throw new IOException("Malformed varint");
+	}
+}
@@ -0,0 +1,116 @@
+package Test;
+
+import Model.BatchAnalyzer;
+import Model.GraphException;
+import Model.ResultCache;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class TestBatchAnalyzer {
+
+	Path testGraphs = Paths.get("").toAbsolutePath().resolve("src/Test/TestGraphs");
+
+
+	@Test
+	public void jsonInFileOrder() throws GraphException, IOException {
+		var out = Files.createTempFile("batch", ".json");
+		var summary = new BatchAnalyzer(3).run(testGraphs, out, BatchAnalyzer.Format.JSON);
+		var lines = Files.readAllLines(out);
+
+		assertEquals(4, summary.graphs());
+		assertEquals(0, summary.failed());
+		assertEquals(List.of(
+				"[",
+				"{\"file\":\"TestGraphBridges.csv\",\"nodes\":13,\"components\":[[1, 2, 3, 5, 4, 6, 7, 8, 9, 10, 11, 12, 13]],"
+						+ "\"eccentricities\":[8, 7, 6, 6, 5, 4, 5, 5, 6, 6, 7, 7, 8],\"diameter\":8,\"radius\":4,\"center\":[6],"
+						+ "\"articulations\":[2, 5, 6, 8, 10, 12],\"bridges\":[[1, 2], [5, 6], [8, 9], [8, 10], [12, 13]]},",
+				"{\"file\":\"Test_graph_4Nodes_not_connected.csv\",\"nodes\":4,\"components\":[[1, 2, 3], [4]],"
+						+ "\"eccentricities\":null,\"diameter\":null,\"radius\":null,\"center\":[],"
+						+ "\"articulations\":[1],\"bridges\":[[1, 2], [1, 3]]},",
+				"{\"file\":\"Test_graph_5Nodes_connected.csv\",\"nodes\":5,\"components\":[[1, 2, 3, 4, 5]],"
+						+ "\"eccentricities\":[3, 2, 2, 2, 3],\"diameter\":3,\"radius\":2,\"center\":[2, 3, 4],"
+						+ "\"articulations\":[3],\"bridges\":[[3, 5]]},",
+				"{\"file\":\"Test_graph_pathmatrix.csv\",\"nodes\":5,\"components\":[[1, 3, 4], [2, 5]],"
+						+ "\"eccentricities\":null,\"diameter\":null,\"radius\":null,\"center\":[],"
+						+ "\"articulations\":[],\"bridges\":[[1, 3], [2, 5]]}",
+				"]"), lines);
+	}
+
+	@Test
+	public void csvInFileOrder() throws GraphException, IOException {
+		var out = Files.createTempFile("batch", ".csv");
+		new BatchAnalyzer(3).run(testGraphs, out, BatchAnalyzer.Format.CSV);
+		var lines = Files.readAllLines(out);
+
+		assertEquals(List.of(
+				"file;nodes;components;eccentricities;diameter;radius;center;articulations;bridges;error",
+				"TestGraphBridges.csv;13;[[1, 2, 3, 5, 4, 6, 7, 8, 9, 10, 11, 12, 13]];[8, 7, 6, 6, 5, 4, 5, 5, 6, 6, 7, 7, 8];"
+						+ "8;4;[6];[2, 5, 6, 8, 10, 12];[[1, 2], [5, 6], [8, 9], [8, 10], [12, 13]];",
+				"Test_graph_4Nodes_not_connected.csv;4;[[1, 2, 3], [4]];;inf;inf;[];[1];[[1, 2], [1, 3]];",
+				"Test_graph_5Nodes_connected.csv;5;[[1, 2, 3, 4, 5]];[3, 2, 2, 2, 3];3;2;[2, 3, 4];[3];[[3, 5]];",
+				"Test_graph_pathmatrix.csv;5;[[1, 3, 4], [2, 5]];;inf;inf;[];[];[[1, 3], [2, 5]];"), lines);
+	}
+
+	@Test
+	public void sameOutputWithBoundedWorkers() throws GraphException, IOException {
+		// ein Thread darf nur zwei Ergebnisse vorausrechnen, die vier Dateien brauchen also Nachschub
+		var single = Files.createTempFile("batch", ".json");
+		var parallel = Files.createTempFile("batch", ".json");
+		var summary = new BatchAnalyzer(1).run(testGraphs, single, BatchAnalyzer.Format.JSON);
+		new BatchAnalyzer(3).run(testGraphs, parallel, BatchAnalyzer.Format.JSON);
+
+		assertEquals(4, summary.graphs());
+		assertEquals(Files.readAllLines(parallel), Files.readAllLines(single));
+	}
+
+	@Test
+	public void errorRowForUnreadableFile() throws GraphException, IOException {
+		var dir = Files.createTempDirectory("batch");
+		Files.copy(testGraphs.resolve("Test_graph_5Nodes_connected.csv"), dir.resolve("b.csv"));
+		Files.writeString(dir.resolve("a.csv"), "0;x\nx;0");
+		var json = dir.resolve("out.json");
+		var csv = dir.resolve("out.txt");
+
+		var summary = new BatchAnalyzer(2).run(dir, json, BatchAnalyzer.Format.JSON);
+		new BatchAnalyzer(2).run(dir, csv, BatchAnalyzer.Format.CSV);
+
+		assertEquals(2, summary.graphs());
+		assertEquals(1, summary.failed());
+		var jsonLines = Files.readAllLines(json);
+		assertTrue(jsonLines.get(1).startsWith("{\"file\":\"a.csv\",\"error\":\""));
+		assertFalse(jsonLines.get(1).contains("\"nodes\""));
+		assertTrue(jsonLines.get(2).startsWith("{\"file\":\"b.csv\",\"nodes\":5,"));
+		var csvLines = Files.readAllLines(csv);
+		Assert.assertEquals(3, csvLines.size());
+		assertTrue(csvLines.get(1).startsWith("a.csv;;;;;;;;;"));
+		assertTrue(csvLines.get(1).length() > "a.csv;;;;;;;;;".length());
+		assertTrue(csvLines.get(2).startsWith("b.csv;5;"));
+	}
+
+	@Test
+	public void summaryPerRun() throws GraphException, IOException {
+		var cacheDir = Files.createTempDirectory("graphcache");
+		var analyzer = new BatchAnalyzer(2, new ResultCache(cacheDir));
+		var first = analyzer.run(testGraphs, Files.createTempFile("batch", ".json"), BatchAnalyzer.Format.JSON);
+		var second = analyzer.run(testGraphs, Files.createTempFile("batch", ".json"), BatchAnalyzer.Format.JSON);
+		var third = analyzer.run(testGraphs, Files.createTempFile("batch", ".json"), BatchAnalyzer.Format.JSON);
+
+		assertEquals(0, first.cacheHits());
+		assertEquals(4, second.cacheHits());
+		assertEquals(4, third.cacheHits());
+		assertEquals(4, third.graphs());
+	}
+
+	@Test(expected = GraphException.class)
+	public void missingDirectory() throws GraphException {
+		new BatchAnalyzer(1).run(testGraphs.resolve("missing"), null, BatchAnalyzer.Format.JSON);
+	}
+}
@@ -0,0 +1,89 @@
+package Test;
+
+import Model.Centrality;
+import Model.Graph;
+import Model.GraphException;
+import Model.SquareMatrix;
+import org.junit.Test;
+
+import java.nio.file.Paths;
+
+import static org.junit.Assert.*;
+
+public class TestCentrality {
+
+	String pathToConnectedGraph = 		Paths.get("").toAbsolutePath().resolve("src/Test/TestGraphs/Test_graph_5Nodes_connected.csv").toString();
+	String pathToNotConnectedGraph = 	Paths.get("").toAbsolutePath().resolve("src/Test/TestGraphs/Test_graph_4Nodes_not_connected.csv").toString();
+
+
+	@Test
+	public void betweennessConnected() throws GraphException {
+		var graph = new Graph(SquareMatrix.fromCSV(pathToConnectedGraph));
+		// Knoten 3 liegt auf allen Wegen zu 5 und auf einem der beiden Wege 2-4
+		double[] result = {0.5, 1, 3.5, 1, 0};
+		assertArrayEquals(result, graph.betweenness(), 1e-9);
+	}
+
+	@Test
+	public void closenessConnected() throws GraphException {
+		var graph = new Graph(SquareMatrix.fromCSV(pathToConnectedGraph));
+		double[] result = {4.0 / 7, 4.0 / 6, 4.0 / 5, 4.0 / 6, 4.0 / 8};
+		assertArrayEquals(result, graph.closeness(), 1e-9);
+	}
+
+	@Test
+	public void closenessNotConnected() throws GraphException {
+		var graph = new Graph(SquareMatrix.fromCSV(pathToNotConnectedGraph));
+		// 2 von 3 anderen Knoten erreichbar
+		double[] result = {2.0 / 3 * 2 / 2, 2.0 / 3 * 2 / 3, 2.0 / 3 * 2 / 3, 0};
+		assertArrayEquals(result, graph.closeness(), 1e-9);
+	}
+
+	@Test
+	public void sampledBetweennessWithAllSourcesIsExact() throws GraphException {
+		int[][] adjacency = SquareMatrix.fromCSV(pathToConnectedGraph).getArray();
+		assertArrayEquals(Centrality.betweenness(adjacency), Centrality.betweenness(adjacency, 5, 42), 1e-9);
+	}
+
+	@Test
+	public void weightedBetweenness() {
+		// Dreieck, die direkte Kante 1-3 ist teurer als der Umweg ueber 2
+		int[][] adjacency = {
+				{0, 1, 3},
+				{1, 0, 1},
+				{3, 1, 0}
+		};
+		assertArrayEquals(new double[]{0, 1, 0}, Centrality.betweenness(adjacency), 1e-9);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void negativeWeightSymmetric() {
+		int[][] adjacency = {
+				{0, 2, 0},
+				{2, 0, -1},
+				{0, -1, 0}
+		};
+		Centrality.betweenness(adjacency);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void negativeWeightDirected() {
+		int[][] adjacency = {
+				{0, -1, 0},
+				{0, 0, 1},
+				{0, 0, 0}
+		};
+		Centrality.closeness(adjacency);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void pathsTooLong() {
+		// zwei Kanten mit 2^30 ergeben einen Weg mit 2^31
+		int[][] adjacency = {
+				{0, 1 << 30, 0},
+				{1 << 30, 0, 1 << 30},
+				{0, 1 << 30, 0}
+		};
+		Centrality.betweenness(adjacency);
+	}
+}
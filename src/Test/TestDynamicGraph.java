@@ -0,0 +1,79 @@
+package Test;
+
+import Model.DynamicGraph;
+import Model.Graph;
+import Model.GraphException;
+import Model.SquareMatrix;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.nio.file.Paths;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class TestDynamicGraph {
+
+	String pathToConnectedGraph = 		Paths.get("").toAbsolutePath().resolve("src/Test/TestGraphs/Test_graph_5Nodes_connected.csv").toString();
+	String pathToNotConnectedGraph = 	Paths.get("").toAbsolutePath().resolve("src/Test/TestGraphs/Test_graph_4Nodes_not_connected.csv").toString();
+
+
+	@Test
+	public void addEdgeUpdatesDistances() throws GraphException {
+		var graph = new DynamicGraph(SquareMatrix.fromCSV(pathToConnectedGraph));
+		graph.addEdge(1, 5);
+		assertEquals(1, graph.distance(1, 5));
+		assertEquals(2, graph.distance(2, 5));
+		var expected = new Graph(new SquareMatrix(graph.getAdjacency()));
+		assertArrayEquals(expected.getDistanceMatrix(), graph.getDistanceMatrix());
+	}
+
+	@Test
+	public void addEdgeMergesComponents() throws GraphException {
+		var graph = new DynamicGraph(SquareMatrix.fromCSV(pathToNotConnectedGraph));
+		assertFalse(graph.isReachable(1, 4));
+		graph.addEdge(2, 4);
+		assertEquals(3, graph.distance(3, 4));
+		Assert.assertEquals(List.of(List.of(1, 2, 3, 4)), graph.components());
+	}
+
+	@Test
+	public void removeEdgeRecalculatesDistances() throws GraphException {
+		var graph = new DynamicGraph(SquareMatrix.fromCSV(pathToConnectedGraph));
+		assertTrue(graph.removeEdge(1, 2));
+		assertFalse(graph.hasEdge(2, 1));
+		assertEquals(3, graph.distance(1, 2));
+		var expected = new Graph(new SquareMatrix(graph.getAdjacency()));
+		assertArrayEquals(expected.getDistanceMatrix(), graph.getDistanceMatrix());
+	}
+
+	@Test
+	public void removeBridgeSplitsComponents() throws GraphException {
+		var graph = new DynamicGraph(SquareMatrix.fromCSV(pathToConnectedGraph));
+		Assert.assertEquals(List.of(List.of(3, 5)), graph.bridges());
+		Assert.assertEquals(List.of(3), graph.articulations());
+
+		graph.removeEdge(3, 5);
+		assertEquals(Graph.INF, graph.distance(1, 5));
+		Assert.assertEquals(List.of(List.of(1, 2, 3, 4), List.of(5)), graph.components());
+		assertTrue(graph.bridges().isEmpty());
+		assertTrue(graph.articulations().isEmpty());
+	}
+
+	@Test
+	public void weightedBridges() {
+		var graph = new DynamicGraph(new SquareMatrix(new int[3][3]));
+		graph.addEdge(1, 2, 2);
+		graph.addEdge(2, 3);
+		Assert.assertEquals(List.of(List.of(1, 2), List.of(2, 3)), graph.bridges());
+		Assert.assertEquals(List.of(2), graph.articulations());
+		Assert.assertEquals(List.of(List.of(1, 2), List.of(2, 3)),
+				Graph.bridges(graph.getAdjacency()));
+	}
+
+	@Test
+	public void removeMissingEdge() throws GraphException {
+		var graph = new DynamicGraph(SquareMatrix.fromCSV(pathToConnectedGraph));
+		assertFalse(graph.removeEdge(1, 5));
+	}
+}
@@ -1,5 +1,6 @@
 package Test;
 
+import Model.AnalysisRunner;
 import Model.Graph;
 import Model.GraphException;
 import Model.SquareMatrix;
@@ -49,6 +50,15 @@ public class TestGraph {
 		assertArrayEquals(distanceMatrix, graph.getDistanceMatrix());
 	}
 
+	@Test
+	public void distanceRowsMatchDistanceMatrix() throws GraphException {
+		var adjacency = SquareMatrix.fromCSV(pathToNotConnectedGraph);
+		var graph = new Graph(adjacency);
+		int[][] rows = new int[graph.nodeCount][];
+		distanceRows(adjacency.getArray(), (row, distances) -> rows[row] = distances.clone());
+		assertArrayEquals(graph.getDistanceMatrix(), rows);
+	}
+
 	@Test
 	public void pathMatrixConnected() throws GraphException {
 		var graph = new Graph(SquareMatrix.fromCSV(pathToConnectedGraph));
@@ -188,8 +198,69 @@ public class TestGraph {
 
 		Assert.assertEquals(results, components(graph.getAdjacency()));
 	}
-}
 
+	@Test
+	public void analysisRunnerMatchesSequential() throws GraphException {
+		var adjacency = SquareMatrix.fromCSV(pathToConnectedGraph);
+		var graph = new Graph(adjacency);
+		var report = new AnalysisRunner().analyze(adjacency);
+		assertArrayEquals(graph.getDistanceMatrix(), report.graph().getDistanceMatrix());
+		assertEquals(components(graph.getAdjacency()), report.components());
+		assertArrayEquals(graph.eccentricity(), report.eccentricities());
+		assertEquals(graph.diameter(), report.diameter());
+		assertEquals(graph.radius(), report.radius());
+		assertEquals(graph.center(), report.center());
+		assertEquals(graph.articulations(), report.articulations());
+		assertEquals(graph.bridges(), report.bridges());
+	}
 
+	@Test
+	public void analysisRunnerNotConnected() throws GraphException {
+		var report = new AnalysisRunner(Runnable::run).analyze(SquareMatrix.fromCSV(pathToNotConnectedGraph));
+		assertFalse(report.isConnected());
+		assertEquals(INF, report.diameter());
+		assertTrue(report.center().isEmpty());
+	}
 
+	@Test
+	public void analysisRunnerDirectedAtThreshold() throws GraphException {
+		// nur die Kante 2 -> 1: die DFS von Knoten 1 erreicht Knoten 2 nicht
+		int[][] matrix = new int[PARALLEL_COMPONENTS_THRESHOLD][PARALLEL_COMPONENTS_THRESHOLD];
+		matrix[1][0] = 1;
+		var graph = new Graph(new SquareMatrix(matrix));
+		var report = new AnalysisRunner(Runnable::run).analyze(graph);
+		assertEquals(PARALLEL_COMPONENTS_THRESHOLD, report.components().size());
+		assertEquals(components(matrix), report.components());
+		assertEquals(report.components(), graph.components());
+	}
 
+	@Test
+	public void analysisRunnerUndirectedAtThreshold() throws GraphException {
+		int[][] matrix = new int[PARALLEL_COMPONENTS_THRESHOLD][PARALLEL_COMPONENTS_THRESHOLD];
+		matrix[1][0] = 1;
+		matrix[0][1] = 1;
+		var graph = new Graph(new SquareMatrix(matrix));
+		var report = new AnalysisRunner(Runnable::run).analyze(graph);
+		assertEquals(PARALLEL_COMPONENTS_THRESHOLD - 1, report.components().size());
+		assertEquals(List.of(1, 2), report.components().get(0));
+		assertEquals(report.components(), graph.components());
+	}
+
+	@Test
+	public void shortestPathOK() throws GraphException {
+		var graph = new Graph(SquareMatrix.fromCSV(pathToConnectedGraph));
+		assertEquals(3, graph.distance(1, 5));
+		List<Integer> path = graph.shortestPath(1, 5);
+		assertEquals(4, path.size());
+		assertEquals(Integer.valueOf(1), path.get(0));
+		assertEquals(Integer.valueOf(5), path.get(3));
+	}
+
+	@Test
+	public void shortestPathNotConnected() throws GraphException {
+		var graph = new Graph(SquareMatrix.fromCSV(pathToNotConnectedGraph));
+		assertEquals(INF, graph.distance(1, 4));
+		assertTrue(graph.shortestPath(1, 4).isEmpty());
+		Assert.assertEquals(List.of(2), graph.shortestPath(2, 2));
+	}
+}
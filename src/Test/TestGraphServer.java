@@ -0,0 +1,74 @@
+package Test;
+
+import Model.GraphException;
+import Model.GraphServer;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+
+import static org.junit.Assert.*;
+
+public class TestGraphServer {
+
+	String pathToTestGraphs = Paths.get("").toAbsolutePath().resolve("src/Test/TestGraphs").toString();
+
+
+	private HttpResponse<String> get(GraphServer server, String query) throws IOException, InterruptedException {
+		var request = HttpRequest.newBuilder(URI.create("http://127.0.0.1:" + server.getPort() + query)).build();
+		return HttpClient.newHttpClient().send(request, HttpResponse.BodyHandlers.ofString());
+	}
+
+	@Test
+	public void answersQueries() throws GraphException, IOException, InterruptedException {
+		var server = new GraphServer(Paths.get(pathToTestGraphs), GraphServer.DEFAULT_MAX_BYTES, null);
+		server.start(0);
+		try {
+			var distance = get(server, "/distance?graph=Test_graph_5Nodes_connected.csv&from=1&to=5");
+			assertEquals(200, distance.statusCode());
+			assertTrue(distance.body().contains("\"distance\":3"));
+
+			var center = get(server, "/center?graph=Test_graph_5Nodes_connected.csv");
+			assertTrue(center.body().contains("\"center\":[2, 3, 4]"));
+
+			var components = get(server, "/components?graph=Test_graph_4Nodes_not_connected.csv");
+			assertTrue(components.body().contains("\"components\":[[1, 2, 3], [4]]"));
+		} finally {
+			server.stop();
+		}
+	}
+
+	@Test
+	public void rejectsUnknownGraph() throws GraphException, IOException, InterruptedException {
+		var server = new GraphServer(Paths.get(pathToTestGraphs), GraphServer.DEFAULT_MAX_BYTES, null);
+		server.start(0);
+		try {
+			assertEquals(404, get(server, "/bridges?graph=../../Main.java").statusCode());
+			assertEquals(400, get(server, "/distance?graph=Test_graph_5Nodes_connected.csv&from=0&to=1").statusCode());
+		} finally {
+			server.stop();
+		}
+	}
+
+	@Test
+	public void unknownQueryDoesNotLoadGraph() throws GraphException, IOException, InterruptedException {
+		var dir = Files.createTempDirectory("graphs");
+		Files.writeString(dir.resolve("broken.csv"), "0;x\nx;0");
+		var server = new GraphServer(dir, GraphServer.DEFAULT_MAX_BYTES, null);
+		server.start(0);
+		try {
+			// das Laden des Graphen scheitert an der Zahl x, ein Fehler des Servers und nicht der Anfrage
+			var unknown = get(server, "/nope?graph=broken.csv");
+			assertEquals(404, unknown.statusCode());
+			assertTrue(unknown.body().contains("Unknown query /nope"));
+			assertEquals(500, get(server, "/center?graph=broken.csv").statusCode());
+		} finally {
+			server.stop();
+		}
+	}
+}
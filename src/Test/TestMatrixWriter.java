@@ -0,0 +1,100 @@
+package Test;
+
+import Model.Graph;
+import Model.GraphException;
+import Model.MatrixWriter;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class TestMatrixWriter {
+
+	/**
+	 * The console output of printMatrix before the MatrixWriter, one print call per cell.
+	 */
+	private static String printMatrix(int[][] matrix) {
+		var bytes = new ByteArrayOutputStream();
+		var out = new PrintStream(bytes, false, StandardCharsets.US_ASCII);
+		for (int[] ints : matrix) {
+			for (int j = 0; j < matrix.length; j++) {
+				if (ints[j] == Integer.MAX_VALUE) {
+					out.print(" N ");
+				} else
+					out.print(" " + ints[j] + " ");
+			}
+			out.println();
+		}
+		out.flush();
+		return bytes.toString(StandardCharsets.US_ASCII);
+	}
+
+	private static String write(int[][] matrix) throws GraphException {
+		var bytes = new ByteArrayOutputStream();
+		new MatrixWriter(bytes).writeMatrix(matrix);
+		return bytes.toString(StandardCharsets.US_ASCII);
+	}
+
+	@Test
+	public void specialValues() throws GraphException {
+		int[][] matrix = {
+				{0, Graph.INF, -1},
+				{Integer.MIN_VALUE, 7, 1234567890},
+				{Graph.INF, -42, Integer.MAX_VALUE - 1},
+		};
+		assertEquals(printMatrix(matrix), write(matrix));
+	}
+
+	@Test
+	public void emptyMatrix() throws GraphException {
+		assertEquals("", write(new int[0][0]));
+	}
+
+	@Test
+	public void largerThanBuffer() throws GraphException {
+		// 300 x 300 Zellen mit bis zu 13 Bytes, also ein Vielfaches des 64 KiB Puffers
+		int nodeCount = 300;
+		int[][] matrix = new int[nodeCount][nodeCount];
+		var random = new Random(300);
+		for (int[] row : matrix) {
+			for (int col = 0; col < nodeCount; col++) {
+				row[col] = switch (random.nextInt(4)) {
+					case 0 -> Graph.INF;
+					case 1 -> Integer.MIN_VALUE;
+					case 2 -> random.nextInt(10);
+					default -> random.nextInt();
+				};
+			}
+		}
+		String expected = printMatrix(matrix);
+		assertTrue(expected.length() > 4 * (1 << 16));
+		assertEquals(expected, write(matrix));
+	}
+
+	@Test
+	public void rowsToFile() throws GraphException, IOException {
+		int[][] adjacency = {
+				{0, 1, 0, 0},
+				{1, 0, 3, 0},
+				{0, 3, 0, 0},
+				{0, 0, 0, 0},
+		};
+		var file = Files.createTempFile("distances", ".txt");
+		try (var writer = MatrixWriter.toFile(file)) {
+			Graph.distanceRows(adjacency, writer);
+		}
+		int[][] distances = {
+				{0, 1, 4, Graph.INF},
+				{1, 0, 3, Graph.INF},
+				{4, 3, 0, Graph.INF},
+				{Graph.INF, Graph.INF, Graph.INF, 0},
+		};
+		assertEquals(printMatrix(distances), Files.readString(file, StandardCharsets.US_ASCII));
+	}
+}
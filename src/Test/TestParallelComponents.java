@@ -0,0 +1,84 @@
+package Test;
+
+import Model.Graph;
+import Model.GraphException;
+import Model.ParallelComponents;
+import Model.SquareMatrix;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.Assert.*;
+
+public class TestParallelComponents {
+
+	String pathToConnectedGraph = 		Paths.get("").toAbsolutePath().resolve("src/Test/TestGraphs/Test_graph_5Nodes_connected.csv").toString();
+	String pathToNotConnectedGraph = 	Paths.get("").toAbsolutePath().resolve("src/Test/TestGraphs/Test_graph_4Nodes_not_connected.csv").toString();
+	String pathToTestPathMatrixGraph = 	Paths.get("").toAbsolutePath().resolve("src/Test/TestGraphs/Test_graph_pathmatrix.csv").toString();
+
+
+	@Test
+	public void componentsConnected() throws GraphException {
+		var components = ParallelComponents.components(SquareMatrix.fromCSV(pathToConnectedGraph).getArray());
+		Assert.assertEquals(List.of(List.of(1, 2, 3, 4, 5)), components);
+	}
+
+	@Test
+	public void componentsNotConnected() throws GraphException {
+		var components = ParallelComponents.components(SquareMatrix.fromCSV(pathToNotConnectedGraph).getArray());
+		Assert.assertEquals(List.of(List.of(1, 2, 3), List.of(4)), components);
+	}
+
+	@Test
+	public void componentsNotSymmetric() throws GraphException {
+		var components = ParallelComponents.components(SquareMatrix.fromCSV(pathToTestPathMatrixGraph).getArray());
+		Assert.assertEquals(List.of(List.of(1, 3, 4), List.of(2, 5)), components);
+	}
+
+	@Test
+	public void labelsAreSmallestNode() {
+		// zwei Ketten ueber die geraden und ungeraden Knoten, gross genug fuer mehrere Threads
+		int nodeCount = 2000;
+		int[][] matrix = new int[nodeCount][nodeCount];
+		List<Integer> evenNodes = new ArrayList<>();
+		for (int node = 0; node + 2 < nodeCount; node++) {
+			matrix[node][node + 2] = 1;
+			matrix[node + 2][node] = 1;
+		}
+		for (int node = 0; node < nodeCount; node += 2)
+			evenNodes.add(node + 1);
+		int[] labels = ParallelComponents.labels(matrix);
+		for (int node = 0; node < nodeCount; node++)
+			assertEquals(node % 2, labels[node]);
+		Assert.assertEquals(evenNodes, ParallelComponents.components(matrix).get(0));
+	}
+
+	@Test
+	public void sameGroupingAsDfs() {
+		// duenner Zufallsgraph, damit viele Komponenten verschiedener Groesse entstehen
+		int nodeCount = Graph.PARALLEL_COMPONENTS_THRESHOLD + 500;
+		int[][] matrix = new int[nodeCount][nodeCount];
+		var random = new Random(34);
+		for (int edge = 0; edge < nodeCount; edge++) {
+			int u = random.nextInt(nodeCount);
+			int v = random.nextInt(nodeCount);
+			matrix[u][v] = 1;
+			matrix[v][u] = 1;
+		}
+		Set<Set<Integer>> expected = new HashSet<>();
+		for (var component : Graph.components(matrix))
+			expected.add(new HashSet<>(component));
+		Set<Set<Integer>> actual = new HashSet<>();
+		for (var component : ParallelComponents.components(matrix))
+			actual.add(new HashSet<>(component));
+
+		assertTrue(expected.size() > 1);
+		Assert.assertEquals(expected, actual);
+	}
+}
@@ -0,0 +1,136 @@
+package Test;
+
+import Model.AnalysisRunner;
+import Model.GraphException;
+import Model.ResultCache;
+import Model.SquareMatrix;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.nio.file.attribute.FileTime;
+
+import static org.junit.Assert.*;
+
+public class TestResultCache {
+
+	String pathToConnectedGraph = 		Paths.get("").toAbsolutePath().resolve("src/Test/TestGraphs/Test_graph_5Nodes_connected.csv").toString();
+	String pathToNotConnectedGraph = 	Paths.get("").toAbsolutePath().resolve("src/Test/TestGraphs/Test_graph_4Nodes_not_connected.csv").toString();
+
+
+	@Test
+	public void missOnEmptyCache() throws GraphException, IOException {
+		var cache = new ResultCache(Files.createTempDirectory("graphcache"));
+		assertNull(cache.get(SquareMatrix.fromCSV(pathToConnectedGraph)));
+	}
+
+	@Test
+	public void hitRestoresReport() throws GraphException, IOException {
+		var cache = new ResultCache(Files.createTempDirectory("graphcache"));
+		var adjacency = SquareMatrix.fromCSV(pathToConnectedGraph);
+		var report = new AnalysisRunner().analyze(adjacency);
+		cache.put(report);
+
+		var cached = cache.get(adjacency);
+		assertNotNull(cached);
+		assertArrayEquals(report.graph().getDistanceMatrix(), cached.graph().getDistanceMatrix());
+		assertArrayEquals(report.graph().getPathMatrix(), cached.graph().getPathMatrix());
+		assertArrayEquals(report.eccentricities(), cached.eccentricities());
+		Assert.assertEquals(report.center(), cached.center());
+		Assert.assertEquals(report.components(), cached.components());
+		Assert.assertEquals(report.bridges(), cached.bridges());
+		Assert.assertEquals(report.articulations(), cached.articulations());
+	}
+
+	@Test
+	public void hitNotConnected() throws GraphException, IOException {
+		var cache = new ResultCache(Files.createTempDirectory("graphcache"));
+		var adjacency = SquareMatrix.fromCSV(pathToNotConnectedGraph);
+		cache.analyze(adjacency, new AnalysisRunner());
+
+		var cached = cache.get(adjacency);
+		assertNotNull(cached);
+		assertFalse(cached.isConnected());
+		assertArrayEquals(new AnalysisRunner().analyze(adjacency).graph().getDistanceMatrix(),
+				cached.graph().getDistanceMatrix());
+	}
+
+	@Test
+	public void evictsLeastRecentlyUsed() throws GraphException, IOException {
+		var directory = Files.createTempDirectory("graphcache");
+		var connected = SquareMatrix.fromCSV(pathToConnectedGraph);
+		var notConnected = SquareMatrix.fromCSV(pathToNotConnectedGraph);
+		// Platz fuer genau einen Eintrag
+		new ResultCache(directory).put(new AnalysisRunner().analyze(connected));
+		long entrySize;
+		try (var files = Files.list(directory)) {
+			var entry = files.findFirst().orElseThrow();
+			entrySize = Files.size(entry);
+			Files.setLastModifiedTime(entry, FileTime.fromMillis(0));
+		}
+		var cache = new ResultCache(directory, entrySize);
+
+		cache.put(new AnalysisRunner().analyze(notConnected));
+		assertNull(cache.get(connected));
+		assertNotNull(cache.get(notConnected));
+	}
+
+	@Test
+	public void removesStaleTempFiles() throws GraphException, IOException {
+		var directory = Files.createTempDirectory("graphcache");
+		var stale = Files.createTempFile(directory, "entry", ".tmp");
+		Files.setLastModifiedTime(stale, FileTime.fromMillis(0));
+		var writing = Files.createTempFile(directory, "entry", ".tmp");
+
+		new ResultCache(directory).put(new AnalysisRunner().analyze(SquareMatrix.fromCSV(pathToConnectedGraph)));
+		assertFalse(Files.exists(stale));
+		assertTrue(Files.exists(writing));
+	}
+
+	@Test
+	public void hitNegativeWeights() throws GraphException, IOException {
+		var cache = new ResultCache(Files.createTempDirectory("graphcache"));
+		// -1 und Integer.MIN_VALUE duerfen nicht mit der Kodierung von INF zusammenfallen
+		var adjacency = new SquareMatrix(new int[][]{
+				{0, -1, 0},
+				{0, 0, Integer.MIN_VALUE},
+				{0, 0, 0},
+		});
+		var report = cache.analyze(adjacency, new AnalysisRunner());
+
+		var cached = cache.get(adjacency);
+		assertNotNull(cached);
+		assertArrayEquals(adjacency.getArray(), cached.graph().getAdjacency());
+		assertArrayEquals(report.graph().getDistanceMatrix(), cached.graph().getDistanceMatrix());
+	}
+
+	@Test
+	public void corruptNodeCountIsMiss() throws GraphException, IOException {
+		var directory = Files.createTempDirectory("graphcache");
+		var cache = new ResultCache(directory);
+		var adjacency = SquareMatrix.fromCSV(pathToConnectedGraph);
+		var entry = directory.resolve(ResultCache.contentHash(adjacency) + ".bin");
+		try (var out = new DataOutputStream(Files.newOutputStream(entry))) {
+			out.writeInt(0x47524332);
+			out.write(new byte[]{(byte) 0xFF, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, 0x07}); // 2^31 - 1 Knoten
+		}
+
+		assertNull(cache.get(adjacency));
+		assertFalse(Files.exists(entry));
+	}
+
+	@Test
+	public void failedWriteKeepsReport() throws GraphException, IOException {
+		var directory = Files.createTempDirectory("graphcache");
+		var cache = new ResultCache(directory);
+		Files.delete(directory);
+		var adjacency = SquareMatrix.fromCSV(pathToConnectedGraph);
+
+		var report = cache.analyze(adjacency, new AnalysisRunner());
+		assertNotNull(report);
+		assertArrayEquals(new int[]{3, 2, 2, 2, 3}, report.eccentricities());
+	}
+}